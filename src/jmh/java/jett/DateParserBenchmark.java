@@ -0,0 +1,50 @@
+package jett;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link DateParser} on each supported input format, on invalid input, and when formatting.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateParserBenchmark {
+
+    /** One input per format (ISO, d/M/yyyy, MMM d yyyy), plus one that matches none. */
+    @Param({"2025-09-14", "14/9/2025", "Sep 14 2025", "next tuesday"})
+    private String input;
+
+    private final LocalDate date = LocalDate.of(2025, 9, 14);
+
+    /**
+     * Parses the input, returning {@code null} if it is rejected.
+     */
+    @Benchmark
+    public LocalDate parseDate() {
+        try {
+            return DateParser.parseDate(input);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats a date the way every saved deadline and event is written.
+     */
+    @Benchmark
+    public String formatDate() {
+        return DateParser.formatDate(date);
+    }
+}
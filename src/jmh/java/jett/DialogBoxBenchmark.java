@@ -0,0 +1,96 @@
+package jett;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.shape.Circle;
+
+/**
+ * Measures the cost of one chat bubble: {@link #fxmlBubble()} rebuilds a reply bubble the way {@link DialogBox}
+ * used to (parse {@code DialogBox.fxml}, then flip the children), and {@link #codeBubble()} builds it in code
+ * as it does now. Neither bubble is attached to a scene, so CSS and layout are not included.
+ * <p>
+ * Starts the JavaFX toolkit, so it needs a display (or a headless Monocle build).
+ * Run with {@code ./gradlew jmh -PjmhIncludes=DialogBoxBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DialogBoxBenchmark {
+
+    private static final String REPLY =
+            "Easy. Dropped it in your list:\n[T][ ] read book\nNow you have 3 tasks in the list.";
+
+    private Image image;
+
+    /**
+     * Starts the JavaFX toolkit, which controls and images need, and loads the picture shown in every bubble.
+     */
+    @Setup(Level.Trial)
+    public void startToolkit() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // already started by an earlier trial in this JVM
+        }
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/Jett.png"));
+    }
+
+    /**
+     * Loads the old FXML template and flips it, as every reply bubble used to.
+     */
+    @Benchmark
+    public HBox fxmlBubble() throws IOException {
+        HBox box = new HBox();
+        FXMLLoader loader = new FXMLLoader(DialogBoxBenchmark.class.getResource("DialogBox.fxml"));
+        loader.setRoot(box);
+        loader.load();
+        Label dialog = (Label) loader.getNamespace().get("dialog");
+        ImageView picture = (ImageView) loader.getNamespace().get("displayPicture");
+        dialog.setText(REPLY);
+        dialog.setWrapText(true);
+        dialog.setMaxWidth(420);
+        dialog.getStyleClass().add("bubble");
+        picture.setImage(image);
+        picture.setFitWidth(50);
+        picture.setFitHeight(50);
+        picture.setPreserveRatio(true);
+        picture.setClip(new Circle(25, 25, 25));
+        box.getStyleClass().add("dialog");
+        ObservableList<Node> children = FXCollections.observableArrayList(box.getChildren());
+        Collections.reverse(children);
+        box.getChildren().setAll(children);
+        box.setAlignment(Pos.TOP_LEFT);
+        box.getStyleClass().add("dialog-bot");
+        return box;
+    }
+
+    /**
+     * Builds a reply bubble in code.
+     */
+    @Benchmark
+    public DialogBox codeBubble() {
+        return DialogBox.getJettDialog(REPLY, image);
+    }
+}
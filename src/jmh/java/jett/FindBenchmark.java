@@ -0,0 +1,76 @@
+package jett;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link TaskList#findString(String)} through its {@link SearchIndex} against the original
+ * full scan that lower-cased every description on every call.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FindBenchmark {
+
+    private static final String[] SUBJECTS = {"report", "meeting", "groceries", "chapter", "lecture", "quiz"};
+
+    @Param({"100000"})
+    private int tasks;
+
+    /** A selective word, a substring spanning two words, a 2-letter query and a miss. */
+    @Param({"report 4242", "ing 7", "qu", "nothing"})
+    private String keyword;
+
+    private TaskList list;
+
+    /**
+     * Fills the list and builds the search index so only lookups are measured.
+     */
+    @Setup(Level.Trial)
+    public void fillList() {
+        list = new TaskList();
+        for (int i = 0; i < tasks; i++) {
+            list.add(new Todo("Finish " + SUBJECTS[i % SUBJECTS.length] + " " + i));
+        }
+        list.findString(keyword);
+    }
+
+    /**
+     * Finds through the search index.
+     */
+    @Benchmark
+    public String indexedFind() {
+        return list.findString(keyword);
+    }
+
+    /**
+     * Finds by lower-casing and scanning every description, as {@link TaskList#findString(String)} originally did.
+     */
+    @Benchmark
+    public String scanFind() {
+        String folded = keyword.toLowerCase();
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Task t = list.get(i);
+            if (t.getDescription().toLowerCase(Locale.ROOT).contains(folded)) {
+                count++;
+                sb.append(count).append(". ").append(t).append("\n");
+            }
+        }
+        return count == 0 ? "No matching tasks found." : sb.toString();
+    }
+}
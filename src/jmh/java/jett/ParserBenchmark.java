@@ -0,0 +1,87 @@
+package jett;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Parser#respondToUser(String, TaskList)} for the commands users type most,
+ * against lists of different sizes.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private TaskList list;
+    private String markMiddle;
+
+    /**
+     * Fills the list with a realistic task mix.
+     */
+    @Setup(Level.Trial)
+    public void fillList() {
+        list = new TaskList(TaskMix.tasks(size));
+        markMiddle = "mark " + (size / 2);
+    }
+
+    /**
+     * Adds a todo, then deletes it again so the list keeps its size.
+     */
+    @Benchmark
+    public String todoThenDelete() throws JettException {
+        Parser.respondToUser("todo read book", list);
+        return Parser.respondToUser("delete " + list.size(), list);
+    }
+
+    /**
+     * Adds a deadline with a month-name date, then deletes it again.
+     */
+    @Benchmark
+    public String deadlineThenDelete() throws JettException {
+        Parser.respondToUser("deadline return book /by Sep 21 2025", list);
+        return Parser.respondToUser("delete " + list.size(), list);
+    }
+
+    /**
+     * Marks a task in the middle of the list.
+     */
+    @Benchmark
+    public String mark() throws JettException {
+        return Parser.respondToUser(markMiddle, list);
+    }
+
+    /**
+     * Shows the first page of the list.
+     */
+    @Benchmark
+    public String listFirstPage() throws JettException {
+        return Parser.respondToUser("list --page 1", list);
+    }
+
+    /**
+     * Rejects an unknown command.
+     */
+    @Benchmark
+    public String invalidCommand() {
+        try {
+            return Parser.respondToUser("blah blah", list);
+        } catch (JettException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package jett;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Load test for {@link JettServer} on loopback: 16 client threads send requests as fast as the server answers.
+ * Throughput mode reports requests per second; sample-time mode reports the latency distribution, including p99.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ServerBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class ServerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Path dir;
+    private JettServer server;
+    private HttpClient client;
+    private URI command;
+    private URI doneTasks;
+
+    /**
+     * Starts a server on a free port over a data file holding a realistic task mix.
+     */
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        dir = Files.createTempDirectory("jett-bench");
+        String path = dir.resolve("Jett.txt").toString();
+        new Storage(path).saveNow(new TaskList(TaskMix.tasks(size)));
+        server = new JettServer(new Jett(path, Storage.Mode.INCREMENTAL, true, true), 0);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        command = server.getBaseUri().resolve("/command");
+        doneTasks = server.getBaseUri().resolve("/tasks?done=true");
+    }
+
+    /**
+     * Stops the server and deletes the data file.
+     */
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        server.stop();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * Marks or unmarks a random task: a command that changes the list and is saved in the background.
+     */
+    @Benchmark
+    public String markCommand() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String line = (random.nextBoolean() ? "mark " : "unmark ") + (1 + random.nextInt(size));
+        return send(HttpRequest.newBuilder(command).header(JettServer.CLIENT_HEADER, "bench")
+                .POST(HttpRequest.BodyPublishers.ofString(line)).build());
+    }
+
+    /**
+     * Shows one page of the list, a read-only command.
+     */
+    @Benchmark
+    public String listPageCommand() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(command).header(JettServer.CLIENT_HEADER, "bench")
+                .POST(HttpRequest.BodyPublishers.ofString("list --page 3 --size 20")).build());
+    }
+
+    /**
+     * Fetches the done tasks as JSON, which reads a snapshot of the whole list without its lock.
+     */
+    @Benchmark
+    public String doneTasksQuery() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(doneTasks).GET().build());
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
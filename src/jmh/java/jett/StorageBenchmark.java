@@ -0,0 +1,97 @@
+package jett;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link Storage#parseLine(String)} and the cost of saving after a single change in each
+ * {@link Storage.Mode}, against lists of different sizes.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SNAPSHOT", "JOURNAL", "BINARY", "INCREMENTAL"})
+    private Storage.Mode mode;
+
+    private String[] lines;
+    private int next;
+    private Path dir;
+    private Storage storage;
+    private TaskList list;
+
+    /**
+     * Writes a data file in the benchmarked mode and loads it back, as the app does on startup.
+     */
+    @Setup(Level.Trial)
+    public void writeDataFile() throws IOException, JettException {
+        lines = TaskMix.lines(Math.min(size, 10_000));
+        dir = Files.createTempDirectory("jett-bench");
+        String path = dir.resolve("Jett.txt").toString();
+        // a journal only records changes, so its data file starts out as a plain snapshot
+        Storage.Mode initialMode = mode == Storage.Mode.JOURNAL ? Storage.Mode.SNAPSHOT : mode;
+        new Storage(path, initialMode).saveNow(new TaskList(TaskMix.tasks(size)));
+        storage = new Storage(path, mode);
+        list = new TaskList(storage.getData());
+    }
+
+    /**
+     * Deletes the data file and anything saved next to it.
+     */
+    @TearDown(Level.Trial)
+    public void deleteDataFile() throws IOException {
+        storage.awaitCompaction();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * Parses one line of the data file.
+     */
+    @Benchmark
+    public Task parseLine() {
+        String line = lines[next];
+        next = next + 1 == lines.length ? 0 : next + 1;
+        return Storage.parseLine(line);
+    }
+
+    /**
+     * Toggles one task and saves, as every {@code mark} or {@code unmark} command does.
+     */
+    @Benchmark
+    public void saveAfterMark() {
+        int i = next;
+        next = next + 1 == lines.length ? 0 : next + 1;
+        if (list.get(i).isDone()) {
+            list.unmark(i);
+        } else {
+            list.mark(i);
+        }
+        storage.saveNow(list);
+    }
+}
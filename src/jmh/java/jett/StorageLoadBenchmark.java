@@ -0,0 +1,100 @@
+package jett;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how long {@link Storage#getData()} takes to load data files of different sizes,
+ * compared with the original {@link Scanner}-based line reader.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int lines;
+
+    private Path dir;
+    private File data;
+
+    /**
+     * Writes a data file with an even mix of todos, deadlines and events, a third of them marked done.
+     */
+    @Setup(Level.Trial)
+    public void writeDataFile() throws IOException {
+        dir = Files.createTempDirectory("jett-bench");
+        data = dir.resolve("Jett.txt").toFile();
+        try (FileWriter fw = new FileWriter(data)) {
+            for (int i = 0; i < lines; i++) {
+                String status = i % 3 == 0 ? "X" : " ";
+                String line = switch (i % 3) {
+                case 0 -> "[T][" + status + "] read chapter " + i;
+                case 1 -> "[D][" + status + "] submit report " + i + " (by: Sep " + (i % 28 + 1) + " 2025)";
+                default -> "[E][" + status + "] project meeting " + i
+                        + " (from: Oct " + (i % 28 + 1) + " 2025 to: Nov " + (i % 28 + 1) + " 2025)";
+                };
+                fw.write(line);
+                fw.write(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Deletes the generated data file.
+     */
+    @TearDown(Level.Trial)
+    public void deleteDataFile() throws IOException {
+        Files.deleteIfExists(data.toPath());
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Loads through the memory-mapped loader used by {@link Storage#getData()}.
+     */
+    @Benchmark
+    public ArrayList<Task> mappedLoad() throws JettException {
+        return new Storage(data.getPath()).getData();
+    }
+
+    /**
+     * Loads line by line through {@link Scanner}, as {@link Storage#getData()} originally did.
+     */
+    @Benchmark
+    public ArrayList<Task> scannerLoad() throws IOException {
+        ArrayList<Task> list = new ArrayList<>();
+        try (Scanner scanner = new Scanner(data)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine().trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Task t = Storage.parseLine(line);
+                if (t != null) {
+                    list.add(t);
+                }
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,87 @@
+package jett;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the {@link TaskList} queries behind {@code find} and the sorted and paged listings,
+ * against lists of different sizes.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private TaskList list;
+    private final StringBuilder page = new StringBuilder();
+
+    /**
+     * Fills the list with a realistic task mix and builds its search index and sorted views.
+     */
+    @Setup(Level.Trial)
+    public void fillList() {
+        list = new TaskList(TaskMix.tasks(size));
+        list.findString("x");
+        list.listSortedByDate();
+    }
+
+    /**
+     * Finds a phrase shared by about a tenth of the tasks.
+     */
+    @Benchmark
+    public String findCommonPhrase() {
+        return list.findString("lab quiz");
+    }
+
+    /**
+     * Finds one specific task by the number at the end of its description.
+     */
+    @Benchmark
+    public String findSingleTask() {
+        return list.findString(" " + (size - 7));
+    }
+
+    /**
+     * Renders the whole list in date order from the kept-sorted view.
+     */
+    @Benchmark
+    public String listSortedByDate() {
+        return list.listSortedByDate();
+    }
+
+    /**
+     * Copies and sorts the list with a caller-supplied comparator.
+     */
+    @Benchmark
+    public String sortedListByDescription() {
+        return list.sortedList(Comparator.comparing(Task::getDescription), "Sorted:");
+    }
+
+    /**
+     * Renders the middle page of 50 tasks in date order.
+     */
+    @Benchmark
+    public StringBuilder dateOrderMiddlePage() throws IOException {
+        page.setLength(0);
+        int pageSize = TaskList.DEFAULT_PAGE_SIZE;
+        list.appendSortedPage(page, TaskList.SortOrder.DATE, (list.pageCount(pageSize) + 1) / 2, pageSize);
+        return page;
+    }
+}
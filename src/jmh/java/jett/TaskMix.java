@@ -0,0 +1,65 @@
+package jett;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generates reproducible task lists shaped like real use: half todos, 30% deadlines and 20% events,
+ * a third of them done, short descriptions drawn from a shared vocabulary and dates spread over two years.
+ */
+final class TaskMix {
+
+    private static final String[] VERBS = {"read", "submit", "buy", "call", "finish", "review", "book", "plan"};
+    private static final String[] OBJECTS = {"report", "groceries", "chapter 3", "assignment", "flight tickets",
+        "team meeting notes", "lab quiz", "dentist appointment", "project proposal", "birthday gift"};
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private TaskMix() {
+    }
+
+    /**
+     * Returns {@code size} tasks; the same size always gives the same tasks.
+     *
+     * @param size the number of tasks
+     * @return the tasks, in the order they would have been added
+     */
+    static ArrayList<Task> tasks(int size) {
+        Random random = new Random(size);
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = VERBS[random.nextInt(VERBS.length)] + " "
+                    + OBJECTS[random.nextInt(OBJECTS.length)] + " " + i;
+            LocalDate date = START.plusDays(random.nextInt(730));
+            int kind = random.nextInt(10);
+            Task t;
+            if (kind < 5) {
+                t = new Todo(description);
+            } else if (kind < 8) {
+                t = new Deadline(description, date);
+            } else {
+                t = new Event(description, date, date.plusDays(random.nextInt(5)));
+            }
+            if (random.nextInt(3) == 0) {
+                t.mark();
+            }
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the data file lines of {@code size} tasks, as {@link Storage} writes them.
+     *
+     * @param size the number of tasks
+     * @return one line per task
+     */
+    static String[] lines(int size) {
+        ArrayList<Task> tasks = tasks(size);
+        String[] lines = new String[size];
+        for (int i = 0; i < size; i++) {
+            lines[i] = tasks.get(i).toString();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,151 @@
+package jett;
+
+import java.io.IOException;
+
+/**
+ * Persists a {@link TaskList} on a single background thread so callers never wait on the disk.
+ * <p>
+ * Callers mutate the list while holding its monitor and then call {@link #markDirty()}.
+ * The writer waits briefly so that a burst of commands is combined into one write, captures the
+ * list under its monitor via {@link Storage#prepare(TaskList)}, and writes to disk outside the lock.
+ * Pending changes are flushed by {@link #flush()}, by {@link #close()} and on JVM shutdown.
+ * </p>
+ */
+class BackgroundSaver {
+    /** How long the writer waits after the first change so later changes join the same write. */
+    static final long DEFAULT_LINGER_MILLIS = 20;
+
+    private final Storage storage;
+    private final TaskList list;
+    private final long lingerMillis;
+    private final Object ioLock = new Object();
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private long dirtyVersion;
+    private long savedVersion;
+    private long writeCount;
+    private boolean isClosed;
+
+    /**
+     * Creates a saver for {@code list} and starts its writer thread.
+     *
+     * @param storage      where the list is saved
+     * @param list         the list to save; its monitor guards all mutations
+     * @param lingerMillis how long to wait for more changes before writing
+     */
+    BackgroundSaver(Storage storage, TaskList list, long lingerMillis) {
+        assert storage != null && list != null : "Storage and list must be non-null";
+        assert lingerMillis >= 0 : "Linger must not be negative";
+        this.storage = storage;
+        this.list = list;
+        this.lingerMillis = lingerMillis;
+        this.writer = new Thread(this::runWriter, "jett-background-saver");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.shutdownHook = new Thread(this::flush, "jett-save-on-exit");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Records that the list changed and wakes the writer.
+     */
+    synchronized void markDirty() {
+        dirtyVersion++;
+        notifyAll();
+    }
+
+    /**
+     * Writes every change marked so far on the calling thread, waiting for an in-flight write first.
+     * When this returns, all changes marked before the call are on disk (or their failure was reported).
+     */
+    void flush() {
+        saveOnce();
+    }
+
+    /**
+     * Blocks until the writer thread has saved every change marked before this call, without forcing a write.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized void awaitDurable() throws InterruptedException {
+        long target = dirtyVersion;
+        while (savedVersion < target) {
+            wait();
+        }
+    }
+
+    /**
+     * Returns how many disk writes have been performed, for checking that bursts were coalesced.
+     *
+     * @return the number of completed writes
+     */
+    synchronized long getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Flushes pending changes and stops the writer thread.
+     */
+    void close() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down; the hook flushes again, which is harmless
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (dirtyVersion == savedVersion && !isClosed) {
+                        wait();
+                    }
+                    if (isClosed) {
+                        return;
+                    }
+                }
+                Thread.sleep(lingerMillis); // let the rest of a burst arrive
+                saveOnce();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Saves everything marked dirty so far. Only one save runs at a time, so writes reach the disk
+     * in the order they were prepared.
+     */
+    private void saveOnce() {
+        synchronized (ioLock) {
+            long target;
+            synchronized (this) {
+                target = dirtyVersion;
+                if (target == savedVersion) {
+                    return;
+                }
+            }
+            try {
+                Storage.PendingWrite pending;
+                synchronized (list) {
+                    pending = storage.prepare(list);
+                }
+                storage.write(pending);
+            } catch (IOException e) {
+                System.err.println("Something went wrong: " + e.getMessage());
+            }
+            synchronized (this) {
+                savedVersion = Math.max(savedVersion, target);
+                writeCount++;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package jett;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the compact binary data file used by {@link Storage.Mode#BINARY}.
+ * <p>
+ * Layout (all integers big-endian):
+ * </p>
+ * <pre>
+ * header : "JETT" magic, 1-byte version
+ * record : 1-byte kind (0 todo, 1 deadline, 2 event), 1-byte flags (bit 0 = done, bit 1 = deleted),
+ *          int epoch day for each date (by | from, to), int length + UTF-8 description
+ * </pre>
+ * Dates are stored as epoch days, so neither saving nor loading goes through {@link DateParser}.
+ * The flags byte sits at a fixed offset in every record, so {@link Storage.Mode#INCREMENTAL} can mark,
+ * unmark and delete (tombstone) a task by rewriting that single byte in place.
+ */
+final class BinaryFormat {
+
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 5;
+    static final int FLAG_DONE = 1;
+    static final int FLAG_DELETED = 2;
+    /** Offset of the flags byte from the start of a record. */
+    static final int FLAGS_OFFSET = 1;
+
+    private static final byte[] MAGIC = {'J', 'E', 'T', 'T'};
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Returns whether {@code file} starts with the binary magic bytes.
+     *
+     * @param file the data file to check
+     * @return {@code true} if it is a binary data file
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isBinary(Path file) throws IOException {
+        byte[] head = new byte[MAGIC.length];
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(head, 0, head.length) < head.length) {
+                return false;
+            }
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes every task in {@code list}, header included, into a complete data file image.
+     *
+     * @param list the tasks to encode
+     * @return the bytes of the data file
+     * @throws IOException if a date is too far from 1970 to fit an epoch-day {@code int}
+     */
+    static byte[] encode(TaskList list) throws IOException {
+        return encode(list, new Layout());
+    }
+
+    /**
+     * Same as {@link #encode(TaskList)}, also recording where each record starts in {@code layout}.
+     *
+     * @param list   the tasks to encode
+     * @param layout an empty layout that receives the record offsets and end of data
+     * @return the bytes of the data file
+     * @throws IOException if a date is too far from 1970 to fit an epoch-day {@code int}
+     */
+    static byte[] encode(TaskList list, Layout layout) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + list.size() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out);
+            for (int i = 0; i < list.size(); i++) {
+                int start = out.size();
+                writeRecord(out, list.get(i));
+                layout.addLive(start, out.size());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a single record, for appending to an existing data file.
+     *
+     * @param t the task to encode
+     * @return the bytes of the record
+     * @throws IOException if a date does not fit an epoch-day {@code int}
+     */
+    static byte[] encodeRecord(Task t) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeRecord(out, t);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /**
+     * Returns the flags byte of a live record.
+     *
+     * @param isDone whether the task is done
+     * @return the flags byte
+     */
+    static byte flags(boolean isDone) {
+        return (byte) (isDone ? FLAG_DONE : 0);
+    }
+
+    /**
+     * Writes one task record.
+     *
+     * @param out the stream to write to
+     * @param t   the task to write
+     * @throws IOException if writing fails or a date does not fit an epoch-day {@code int}
+     */
+    static void writeRecord(DataOutputStream out, Task t) throws IOException {
+        out.writeByte(t.kind().ordinal());
+        out.writeByte(flags(t.isDone()));
+        switch (t.kind()) {
+        case DEADLINE:
+            out.writeInt(epochDay(((Deadline) t).getBy()));
+            break;
+        case EVENT:
+            out.writeInt(epochDay(((Event) t).getFrom()));
+            out.writeInt(epochDay(((Event) t).getTo()));
+            break;
+        default:
+            break;
+        }
+        byte[] desc = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(desc.length);
+        out.write(desc);
+    }
+
+    private static int epochDay(LocalDate date) throws IOException {
+        long day = date.toEpochDay();
+        if (day < Integer.MIN_VALUE || day > Integer.MAX_VALUE) {
+            throw new IOException("Date " + date + " is out of range for the binary data file");
+        }
+        return (int) day;
+    }
+
+    /**
+     * Reads every task in a binary data file and appends it to {@code out}, in file order.
+     * Deleted records and records with invalid content (e.g. an event ending before it starts) are skipped;
+     * reading stops at a truncated or corrupt record.
+     *
+     * @param file the binary data file
+     * @param out  the list receiving the tasks
+     * @throws JettException if the file was written by a newer, unsupported version
+     * @throws IOException   if the file cannot be read
+     */
+    static void read(Path file, List<Task> out) throws JettException, IOException {
+        read(file, out, new Layout());
+    }
+
+    /**
+     * Same as {@link #read(Path, List)}, also recording where each loaded task's record starts in {@code layout}.
+     *
+     * @param file   the binary data file
+     * @param out    the list receiving the tasks
+     * @param layout an empty layout that receives the record offsets, skipped records and end of valid data
+     * @throws JettException if the file was written by a newer, unsupported version
+     * @throws IOException   if the file cannot be read
+     */
+    static void read(Path file, List<Task> out, Layout layout) throws JettException, IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            try {
+                readHeader(buf);
+                while (buf.hasRemaining()) {
+                    int start = buf.position();
+                    Task t;
+                    try {
+                        t = readRecord(buf);
+                    } catch (BufferUnderflowException | IllegalStateException e) {
+                        break; // truncated or corrupt record; nothing after it can be trusted
+                    }
+                    if (t == null) {
+                        layout.addDead(buf.position());
+                    } else {
+                        layout.addLive(start, buf.position());
+                        out.add(t);
+                    }
+                }
+            } finally {
+                MappedLoader.unmap(buf);
+            }
+        }
+    }
+
+    private static void readHeader(ByteBuffer buf) throws JettException {
+        if (buf.remaining() < HEADER_BYTES) {
+            throw new JettException("Data file header is truncated");
+        }
+        buf.position(MAGIC.length);
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new JettException("Unsupported data file version " + version);
+        }
+    }
+
+    /**
+     * Reads one record at the buffer's position and advances past it.
+     *
+     * @return the task, or {@code null} if the record is deleted or its content is invalid
+     * @throws IllegalStateException if the kind byte or description length is corrupt
+     */
+    private static Task readRecord(ByteBuffer buf) {
+        int kind = buf.get();
+        if (kind < 0 || kind >= Task.TaskKind.values().length) {
+            throw new IllegalStateException("Unknown task kind " + kind);
+        }
+        byte flags = buf.get();
+        boolean isDone = (flags & FLAG_DONE) != 0;
+        LocalDate first = null;
+        LocalDate second = null;
+        if (kind == Task.TaskKind.DEADLINE.ordinal()) {
+            first = LocalDate.ofEpochDay(buf.getInt());
+        } else if (kind == Task.TaskKind.EVENT.ordinal()) {
+            first = LocalDate.ofEpochDay(buf.getInt());
+            second = LocalDate.ofEpochDay(buf.getInt());
+        }
+        int len = buf.getInt();
+        if (len < 0 || len > buf.remaining()) {
+            throw new IllegalStateException("Bad description length " + len);
+        }
+        byte[] desc = new byte[len];
+        buf.get(desc);
+        if ((flags & FLAG_DELETED) != 0) {
+            return null;
+        }
+        String description = new String(desc, StandardCharsets.UTF_8);
+
+        Task t;
+        try {
+            t = switch (Task.TaskKind.values()[kind]) {
+            case TODO -> new Todo(description);
+            case DEADLINE -> new Deadline(description, first);
+            case EVENT -> new Event(description, first, second);
+            };
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (isDone) {
+            t.mark();
+        }
+        return t;
+    }
+
+    /**
+     * Where the records of a binary data file live, so single records can be updated in place.
+     */
+    static final class Layout {
+        /** File offset of the record of each live task, in list order. */
+        private final ArrayList<Long> offsets = new ArrayList<>();
+        /** Offset just past the last valid record; new records are appended here. */
+        private long end = HEADER_BYTES;
+        /** Number of deleted or unreadable records still taking up space in the file. */
+        private int deadRecords;
+
+        long offsetOf(int index) {
+            return offsets.get(index);
+        }
+
+        long end() {
+            return end;
+        }
+
+        int deadRecords() {
+            return deadRecords;
+        }
+
+        /**
+         * Records a live task whose record occupies {@code [offset, next)}, after every record so far.
+         *
+         * @param offset where the record starts
+         * @param next   where the record ends
+         */
+        void addLive(long offset, long next) {
+            offsets.add(offset);
+            end = next;
+        }
+
+        void addDead(long next) {
+            deadRecords++;
+            end = next;
+        }
+
+        void delete(int index) {
+            offsets.remove(index);
+            deadRecords++;
+        }
+    }
+}
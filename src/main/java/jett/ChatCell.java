@@ -0,0 +1,38 @@
+package jett;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A row of the {@link ChatView}. Each cell builds one {@link DialogBox} and refills it as the list scrolls,
+ * so the number of nodes depends on the height of the window, not the length of the conversation.
+ */
+final class ChatCell extends ListCell<ChatMessage> {
+    private final DialogBox box = new DialogBox();
+    private final Image userImage;
+    private final Image jettImage;
+
+    ChatCell(Image userImage, Image jettImage) {
+        this.userImage = userImage;
+        this.jettImage = jettImage;
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        // size to the viewport rather than to the widest bubble, so there is never a horizontal scroll bar
+        setPrefWidth(0);
+        getStyleClass().add("chat-cell");
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        boolean isUser = message.speaker() == ChatMessage.Speaker.USER;
+        box.show(message, isUser ? userImage : jettImage);
+        setAlignment(isUser ? Pos.TOP_RIGHT : Pos.TOP_LEFT);
+        setGraphic(box);
+    }
+}
@@ -0,0 +1,51 @@
+package jett;
+
+/**
+ * One message of the conversation in the GUI. Messages are kept as plain data, and {@link ChatView} only creates
+ * nodes for the few that are on screen.
+ *
+ * @param speaker who sent the message
+ * @param text    the text shown in the bubble
+ */
+public record ChatMessage(Speaker speaker, String text) {
+
+    /**
+     * Who sent a message, which decides the side and colour of its bubble.
+     * {@code PENDING} stands in for a reply that is still being worked out.
+     */
+    public enum Speaker { USER, JETT, ERROR, PENDING }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text the command as typed
+     * @return the message
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(Speaker.USER, text);
+    }
+
+    /**
+     * Creates a placeholder for a reply that has not arrived yet. Each call returns a distinct message, so
+     * {@link ChatView#replace(ChatMessage, ChatMessage)} finds the right one among several pending replies.
+     *
+     * @return the placeholder
+     */
+    public static ChatMessage pending() {
+        return new ChatMessage(Speaker.PENDING, "…");
+    }
+
+    /**
+     * Creates a message for a reply from {@link Jett#getResponse(String)}. An error reply becomes an
+     * {@link Speaker#ERROR} message without its {@code "ERROR: "} prefix.
+     *
+     * @param response the reply
+     * @return the message
+     */
+    public static ChatMessage fromResponse(String response) {
+        if (response.startsWith(Ui.ERROR_PREFIX)) {
+            return new ChatMessage(Speaker.ERROR, response.substring(Ui.ERROR_PREFIX.length()));
+        }
+        return new ChatMessage(Speaker.JETT, response);
+    }
+}
@@ -0,0 +1,93 @@
+package jett;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * The conversation shown in the main window: a virtualised list of {@link ChatMessage}s, where only the rows
+ * on screen have nodes, built by {@link ChatCell}s that are reused as the list scrolls.
+ * <p>
+ * At most {@link #getRetention()} messages are kept; older ones are dropped as new ones arrive, so a long
+ * session holds bounded memory. Set the limit with the {@code jett.chat.retention} system property
+ * (default {@value #DEFAULT_RETENTION}).
+ * </p>
+ */
+public final class ChatView extends ListView<ChatMessage> {
+    /** Messages kept when the {@code jett.chat.retention} property is not set. */
+    public static final int DEFAULT_RETENTION = 1000;
+
+    private final Image userImage = new Image(ChatView.class.getResourceAsStream("/images/User.png"));
+    private final Image jettImage = new Image(ChatView.class.getResourceAsStream("/images/Jett.png"));
+    private int retention = Math.max(1, Integer.getInteger("jett.chat.retention", DEFAULT_RETENTION));
+
+    /**
+     * Creates an empty conversation.
+     */
+    public ChatView() {
+        setCellFactory(view -> new ChatCell(userImage, jettImage));
+        setFocusTraversable(false);
+        getStyleClass().add("chat-view");
+    }
+
+    /**
+     * Returns how many messages are kept.
+     *
+     * @return the retention limit
+     */
+    public int getRetention() {
+        return retention;
+    }
+
+    /**
+     * Sets how many messages are kept, dropping the oldest at once if there are more.
+     *
+     * @param retention the retention limit; must be positive
+     */
+    public void setRetention(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive: " + retention);
+        }
+        this.retention = retention;
+        trim();
+    }
+
+    /**
+     * Adds {@code message} at the bottom of the conversation and scrolls to it.
+     *
+     * @param message the message to add
+     */
+    public void append(ChatMessage message) {
+        getItems().add(message);
+        trim();
+        scrollTo(getItems().size() - 1);
+    }
+
+    /**
+     * Replaces {@code old} with {@code replacement} where it stands, matching by identity. If {@code old} has
+     * already been dropped by the retention limit, {@code replacement} is appended instead.
+     *
+     * @param old         the message to replace, e.g. a {@link ChatMessage#pending()} placeholder
+     * @param replacement the message to show in its place
+     */
+    public void replace(ChatMessage old, ChatMessage replacement) {
+        ObservableList<ChatMessage> items = getItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == old) {
+                items.set(i, replacement);
+                if (i == items.size() - 1) {
+                    scrollTo(i); // the reply may be taller than the placeholder
+                }
+                return;
+            }
+        }
+        append(replacement);
+    }
+
+    private void trim() {
+        ObservableList<ChatMessage> items = getItems();
+        if (items.size() > retention) {
+            items.remove(0, items.size() - retention);
+        }
+    }
+}
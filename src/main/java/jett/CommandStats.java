@@ -0,0 +1,216 @@
+package jett;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Timing of every command handled by {@link Jett}, per {@link Parser.Command} and per {@link Phase}, kept in
+ * {@link LatencyHistogram}s so that recording never blocks and costs a few atomic increments.
+ * Shown by the {@code stats} command, together with {@link SaveMetrics} and {@link DateParser#cacheStats()}.
+ */
+final class CommandStats {
+
+    private static final int PHASES = Phase.values().length;
+
+    /** One histogram per command and phase, created on first use. */
+    private final AtomicReferenceArray<LatencyHistogram> histograms =
+            new AtomicReferenceArray<>(Parser.Command.values().length * PHASES);
+    private final SaveMetrics saveMetrics;
+    private volatile StartupMetrics startup;
+
+    /**
+     * Phases of a command, in the order they happen.
+     */
+    enum Phase {
+        /** Parsing and checking the command line in {@link Parser}. */
+        DISPATCH,
+        /** Changing the {@link TaskList}: adding, marking, unmarking or deleting. */
+        OPERATION,
+        /** Building the reply, including listings and search results. */
+        RENDER,
+        /** {@link Storage#saveNow(TaskList)}, or handing the changes to the background writer. */
+        SAVE,
+        /** The whole command. */
+        TOTAL
+    }
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param saveMetrics the timing of saves to report alongside, or {@code null} for none
+     */
+    CommandStats(SaveMetrics saveMetrics) {
+        this.saveMetrics = saveMetrics;
+    }
+
+    /**
+     * Sets how long the GUI took to start, to report with the command timings.
+     *
+     * @param startup the startup times
+     */
+    void setStartup(StartupMetrics startup) {
+        this.startup = startup;
+    }
+
+    /**
+     * Starts timing a command; the clock runs from now.
+     *
+     * @return a timer to pass through the command's phases
+     */
+    Timer start() {
+        return new Timer(this);
+    }
+
+    /**
+     * Returns the histogram of {@code phase} for {@code command}.
+     *
+     * @param command the command
+     * @param phase   the phase
+     * @return the histogram, empty if nothing was recorded
+     */
+    LatencyHistogram histogram(Parser.Command command, Phase phase) {
+        int i = command.ordinal() * PHASES + phase.ordinal();
+        LatencyHistogram h = histograms.get(i);
+        if (h == null) {
+            histograms.compareAndSet(i, null, new LatencyHistogram());
+            h = histograms.get(i);
+        }
+        return h;
+    }
+
+    /**
+     * Returns how many times {@code phase} was recorded for {@code command}, without creating its histogram.
+     */
+    private long countOf(Parser.Command command, Phase phase) {
+        LatencyHistogram h = histograms.get(command.ordinal() * PHASES + phase.ordinal());
+        return h == null ? 0 : h.getCount();
+    }
+
+    /**
+     * Returns, for each command run so far, its count and the p50, p99 and maximum time of each phase
+     * it went through, with how many runs reached a phase when some failed earlier, then the save and date
+     * cache statistics and, in the GUI, the startup times.
+     *
+     * @return a human-readable report
+     */
+    String summary() {
+        StringBuilder sb = new StringBuilder("Command timings in microseconds (p50 / p99 / max):");
+        boolean isAnyRun = false;
+        for (Parser.Command command : Parser.Command.values()) {
+            long runs = countOf(command, Phase.TOTAL);
+            if (runs == 0) {
+                continue;
+            }
+            isAnyRun = true;
+            sb.append('\n').append(command.name().toLowerCase(Locale.ROOT)).append(": ").append(runs)
+                    .append(runs == 1 ? " run" : " runs");
+            for (Phase phase : Phase.values()) {
+                long count = countOf(command, phase);
+                if (count == 0) {
+                    continue;
+                }
+                LatencyHistogram h = histogram(command, phase);
+                sb.append(String.format(Locale.ROOT, "\n  %-9s %.1f / %.1f / %.1f",
+                        phase.name().toLowerCase(Locale.ROOT), h.getPercentile(50) / 1000.0,
+                        h.getPercentile(99) / 1000.0, h.getMax() / 1000.0));
+                if (count < runs) { // runs that failed before reaching this phase
+                    sb.append(" (").append(count).append(" of ").append(runs).append(')');
+                }
+            }
+        }
+        if (!isAnyRun) {
+            sb.append("\nNo commands timed yet.");
+        }
+        if (saveMetrics != null) {
+            sb.append("\nSave phases:\n").append(saveMetrics.summary());
+        }
+        sb.append('\n').append(DateParser.cacheStats());
+        StartupMetrics shown = startup;
+        if (shown != null) {
+            sb.append('\n').append(shown.summary());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes {@link #summary()} to {@code file}, replacing it.
+     *
+     * @param file where to write
+     * @throws IOException if writing fails
+     */
+    void exportTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, summary() + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Times one command. Each {@link #lap(Phase)} charges the time since the previous lap (or the start) to a
+     * phase, and {@link #finish(Parser.Command)} records the laps and the total. Used by one thread at a time.
+     */
+    static final class Timer {
+        /** A timer that records nothing, for callers that do not collect statistics. */
+        static final Timer NONE = new Timer(null);
+
+        private final CommandStats stats;
+        private final long start;
+        private final long[] laps = new long[PHASES];
+        private long last;
+
+        private Timer(CommandStats stats) {
+            this.stats = stats;
+            this.start = stats == null ? 0 : System.nanoTime();
+            this.last = start;
+            Arrays.fill(laps, -1);
+        }
+
+        /**
+         * Charges the time since the previous lap to {@code phase}.
+         *
+         * @param phase the phase that just ended
+         */
+        void lap(Phase phase) {
+            if (stats == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            int i = phase.ordinal();
+            laps[i] = Math.max(laps[i], 0) + now - last;
+            last = now;
+        }
+
+        /**
+         * Records the phases lapped so far and the total time since the start under {@code command}.
+         *
+         * @param command the command that was timed
+         */
+        void finish(Parser.Command command) {
+            if (stats == null) {
+                return;
+            }
+            long total = System.nanoTime() - start;
+            for (Phase phase : Phase.values()) {
+                if (laps[phase.ordinal()] >= 0) {
+                    stats.histogram(command, phase).record(laps[phase.ordinal()]);
+                }
+            }
+            stats.histogram(command, Phase.TOTAL).record(total);
+        }
+
+        /**
+         * Returns the report of the statistics this timer records into.
+         *
+         * @return the {@link CommandStats#summary()}, or a note that nothing is collected
+         */
+        String report() {
+            return stats == null ? "No statistics are collected here." : stats.summary();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package jett;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link TaskList} that any number of threads can read while another changes it.
+ * <p>
+ * Writes are serialised on the list's own lock, the same lock {@link Jett} and {@link BackgroundSaver} already
+ * hold around a command or a save. Every write ends by publishing an immutable {@link Snapshot} through a
+ * volatile field, and every read ({@link #listString()}, {@link #findString(String)}, the sorted listings and
+ * pages, {@link #size()} and {@link #get(int)}) works on the snapshot it finds there without taking any lock.
+ * A listing therefore always shows the list as it was between two writes, never half of one.
+ * </p>
+ * <p>
+ * Tasks visible in a snapshot never change: marking or unmarking replaces the task with a copy in the new
+ * snapshot instead of flipping its flag. Tasks in this list must therefore only be changed through the list.
+ * Appending writes into spare capacity that no published snapshot can see, so adding is amortised
+ * {@code O(1)}; other writes copy the array of task references once.
+ * </p>
+ * <p>
+ * A snapshot lives only until the next write, so instead of a {@link SearchIndex} and {@link SortedView}s kept
+ * up to date across writes, {@code find} scans the snapshot's folded descriptions and each sorted order is
+ * sorted once per snapshot, on first use. This list is therefore only worth using where other threads read it while
+ * commands run, as behind {@link JettServer}; a single-threaded caller is better served by a plain {@link TaskList}.
+ * </p>
+ */
+public class ConcurrentTaskList extends TaskList {
+
+    private final ArrayList<Task> tasks;
+    /** The published array; slots below {@code snapshot.size} never change. Guarded by {@code this}. */
+    private Task[] array;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Creates an empty {@code ConcurrentTaskList}.
+     */
+    public ConcurrentTaskList() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates a {@code ConcurrentTaskList} initialised with an existing list of tasks, which it takes over.
+     *
+     * @param list an {@link ArrayList} of tasks
+     */
+    public ConcurrentTaskList(ArrayList<Task> list) {
+        super(list);
+        this.tasks = list;
+        synchronized (this) {
+            republish();
+        }
+    }
+
+    /**
+     * Returns the tasks as of the last completed write, as an immutable list that later writes do not affect.
+     *
+     * @return the current snapshot of the tasks, in list order
+     */
+    public List<Task> snapshot() {
+        return snapshot.tasks;
+    }
+
+    @Override
+    View view() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void add(Task t) {
+        super.add(t);
+        int size = snapshot.size;
+        if (size == array.length) {
+            array = Arrays.copyOf(array, Math.max(16, size + (size >> 1)));
+        }
+        array[size] = t;
+        snapshot = new Snapshot(array, size + 1);
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task removed = super.remove(index);
+        republish();
+        return removed;
+    }
+
+    @Override
+    public synchronized Task mark(int index) {
+        Task marked = super.mark(index);
+        republish();
+        return marked;
+    }
+
+    @Override
+    public synchronized Task unmark(int index) {
+        Task unmarked = super.unmark(index);
+        republish();
+        return unmarked;
+    }
+
+    @Override
+    public synchronized List<Task> removeAll(BitSet indices) {
+        List<Task> removed = super.removeAll(indices);
+        republish();
+        return removed;
+    }
+
+    @Override
+    public synchronized List<Task> markAll(BitSet indices) {
+        List<Task> selected = super.markAll(indices);
+        republish();
+        return selected;
+    }
+
+    @Override
+    public synchronized List<Task> unmarkAll(BitSet indices) {
+        List<Task> selected = super.unmarkAll(indices);
+        republish();
+        return selected;
+    }
+
+    @Override
+    public synchronized void rollback(Checkpoint checkpoint) {
+        super.rollback(checkpoint);
+        republish();
+    }
+
+    @Override
+    public synchronized boolean hasPendingChanges() {
+        return super.hasPendingChanges();
+    }
+
+    @Override
+    public synchronized List<Change> drainChanges() {
+        return super.drainChanges();
+    }
+
+    @Override
+    public synchronized Checkpoint checkpoint() {
+        return super.checkpoint();
+    }
+
+    /**
+     * Returns a marked or unmarked copy, so the task a reader may be rendering is left as it was.
+     */
+    @Override
+    Task withDone(Task t, boolean isDone) {
+        return t.withDone(isDone);
+    }
+
+    /**
+     * Publishes a fresh copy of the tasks. Caller must hold the lock.
+     */
+    private void republish() {
+        array = tasks.toArray(new Task[0]);
+        snapshot = new Snapshot(array, array.length);
+    }
+
+    /**
+     * The first {@code size} tasks of an array that is never written below {@code size} again.
+     */
+    private static final class Snapshot implements View {
+        private final Task[] array;
+        private final int size;
+        private final List<Task> tasks;
+        /** Each built-in order, sorted on first use; racing readers may both sort, and either result is kept. */
+        private final AtomicReferenceArray<List<Task>> sorted =
+                new AtomicReferenceArray<>(SortOrder.values().length);
+
+        Snapshot(Task[] array, int size) {
+            this.array = array;
+            this.size = size;
+            this.tasks = Collections.unmodifiableList(Arrays.asList(array).subList(0, size));
+        }
+
+        @Override
+        public List<Task> tasks() {
+            return tasks;
+        }
+
+        /**
+         * Scans the cached folded descriptions, which are folded the same way as a {@link SearchIndex}'s,
+         * so the matches are the same.
+         */
+        @Override
+        public List<Task> find(String keyword) {
+            ArrayList<Task> matches = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (array[i].sortKey().contains(keyword)) {
+                    matches.add(array[i]);
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * Returns the tasks in {@code order}; the sort is stable, so ties keep list order as in a {@link SortedView}.
+         */
+        @Override
+        public Iterable<Task> sorted(SortOrder order) {
+            List<Task> view = sorted.get(order.ordinal());
+            if (view == null) {
+                Task[] copy = Arrays.copyOf(array, size);
+                Arrays.sort(copy, order.comparator());
+                view = Collections.unmodifiableList(Arrays.asList(copy));
+                sorted.set(order.ordinal(), view);
+            }
+            return view;
+        }
+    }
+}
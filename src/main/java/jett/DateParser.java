@@ -1,8 +1,11 @@
 package jett;
 
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -22,6 +25,26 @@ public final class DateParser {
     /** Supported input formats, tried in order. */
     private static final DateTimeFormatter[] INPUT_FORMATS = {ISO, SLASH, MONTH_TEXT};
 
+    /** Distinct dates remembered by each cache; a few years of deadlines fit comfortably. */
+    static final int CACHE_CAPACITY = 4096;
+
+    /** Trimmed input -> parsed date. Only accepted inputs are cached. */
+    private static final LruCache<String, LocalDate> PARSED = new LruCache<>(CACHE_CAPACITY);
+    /** Date -> {@link #OUTPUT} text, written for every deadline and event that is listed or saved. */
+    private static final LruCache<LocalDate, String> FORMATTED = new LruCache<>(CACHE_CAPACITY);
+
+    /** Returned by {@link #recognise(String)} when only the formatters can decide. */
+    static final LocalDate UNDECIDED = LocalDate.MIN;
+
+    /** Short month names exactly as {@link #MONTH_TEXT} parses them (case-sensitive), indexed by month - 1. */
+    private static final String[] MONTH_NAMES = new String[12];
+
+    static {
+        for (Month m : Month.values()) {
+            MONTH_NAMES[m.ordinal()] = m.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+        }
+    }
+
     private DateParser() {
         // utility class; prevent instantiation
     }
@@ -34,6 +57,7 @@ public final class DateParser {
      *     <li>{@code d/M/yyyy} (e.g. {@code 14/9/2025})</li>
      *     <li>{@code MMM d yyyy} (e.g. {@code Sep 14 2025})</li>
      * </ul>
+     * Results are cached, so repeated dates (common in data files) are parsed only once.
      *
      * @param dateStr the input string representing a date
      * @return the parsed {@link LocalDate} object
@@ -46,6 +70,25 @@ public final class DateParser {
             throw new IllegalArgumentException("Date string must not be blank.");
         }
 
+        LocalDate date = PARSED.get(s);
+        if (date == null) {
+            date = parseUncached(s);
+            if (date == null) {
+                throw new IllegalArgumentException("Unrecognized date format: \"" + dateStr + "\"");
+            }
+            PARSED.put(s, date);
+        }
+        return date;
+    }
+
+    /**
+     * Parses a trimmed, non-empty string, returning {@code null} if no input format accepts it.
+     */
+    private static LocalDate parseUncached(String s) {
+        LocalDate recognised = recognise(s);
+        if (recognised != UNDECIDED) {
+            return recognised;
+        }
         for (DateTimeFormatter fmt : INPUT_FORMATS) {
             try {
                 return LocalDate.parse(s, fmt);
@@ -53,12 +96,106 @@ public final class DateParser {
                 // try next format
             }
         }
-        throw new IllegalArgumentException("Unrecognized date format: \"" + dateStr + "\"");
+        return null;
+    }
+
+    /**
+     * Parses the common shapes of the input formats in a single pass, without throwing:
+     * {@code dddd-dd-dd}, {@code d/M/yyyy} with 1- or 2-digit day and month and a 4-digit year,
+     * and {@code MMM d yyyy} with a 1- or 2-digit day and a 4-digit year.
+     * For those shapes the result is exactly what the formatters give: ISO dates resolve strictly, while the
+     * other two resolve like {@code ResolverStyle.SMART} (year of era from 1, and a day past the end of the
+     * month, up to 31, moves back to the last day). Anything else, such as signs or longer digit runs,
+     * is left to the formatters.
+     *
+     * @param s the trimmed, non-empty input
+     * @return the date, {@code null} if no input format accepts it, or {@link #UNDECIDED}
+     */
+    static LocalDate recognise(String s) {
+        int n = s.length();
+        char first = s.charAt(0);
+        if (first >= '0' && first <= '9') {
+            if (n == 10 && s.charAt(4) == '-' && s.charAt(7) == '-') {
+                int year = digits(s, 0, 4);
+                int month = digits(s, 5, 7);
+                int day = digits(s, 8, 10);
+                if (year < 0 || month < 0 || day < 0) {
+                    return UNDECIDED;
+                }
+                boolean isValid = month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+                return isValid ? LocalDate.of(year, month, day) : null;
+            }
+            int slash = s.indexOf('/');
+            if (slash < 1 || slash > 2) {
+                return UNDECIDED;
+            }
+            int secondSlash = s.indexOf('/', slash + 1);
+            if (secondSlash - slash < 2 || secondSlash - slash > 3 || n - secondSlash != 5) {
+                return UNDECIDED;
+            }
+            return resolveSmart(digits(s, secondSlash + 1, n), digits(s, slash + 1, secondSlash), digits(s, 0, slash));
+        }
+        if ((first >= 'A' && first <= 'Z') || (first >= 'a' && first <= 'z')) {
+            int space = s.indexOf(' ');
+            int month = space < 0 ? -1 : monthNamed(s, space);
+            if (month < 0) {
+                return UNDECIDED;
+            }
+            int secondSpace = s.indexOf(' ', space + 1);
+            if (secondSpace - space < 2 || secondSpace - space > 3 || n - secondSpace != 5) {
+                return UNDECIDED;
+            }
+            return resolveSmart(digits(s, secondSpace + 1, n), month, digits(s, space + 1, secondSpace));
+        }
+        return UNDECIDED;
+    }
+
+    private static LocalDate resolveSmart(int year, int month, int day) {
+        if (year < 0 || month < 0 || day < 0) {
+            return UNDECIDED;
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        return LocalDate.of(year, month, Math.min(day, lengthOfMonth(year, month)));
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return Month.of(month).length(Year.isLeap(year));
+    }
+
+    /**
+     * Returns the month whose short name is exactly {@code s[0, end)}, or {@code -1}.
+     */
+    private static int monthNamed(String s, int end) {
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            String name = MONTH_NAMES[i];
+            if (name.length() == end && s.startsWith(name)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of the ASCII digits {@code s[from, to)}, or {@code -1} if any character is not one.
+     */
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     /**
      * Formats a {@link LocalDate} into a human-readable string
      * using the pattern {@code "MMM d yyyy"} (e.g. {@code Sep 14 2025}).
+     * Results are cached, since the same dates are formatted every time tasks are listed or saved.
      *
      * @param date the {@link LocalDate} to format
      * @return the formatted date string
@@ -66,6 +203,29 @@ public final class DateParser {
      */
     public static String formatDate(LocalDate date) {
         Objects.requireNonNull(date, "date");
-        return date.format(OUTPUT);
+        String text = FORMATTED.get(date);
+        if (text == null) {
+            text = date.format(OUTPUT);
+            FORMATTED.put(date, text);
+        }
+        return text;
+    }
+
+    /**
+     * Returns the hit and miss counts of the parse and format caches since startup.
+     *
+     * @return a one-line summary, e.g. {@code "date cache: parse 90 hits / 10 misses, format 45 hits / 5 misses"}
+     */
+    public static String cacheStats() {
+        return "date cache: parse " + PARSED.getHits() + " hits / " + PARSED.getMisses() + " misses, format "
+                + FORMATTED.getHits() + " hits / " + FORMATTED.getMisses() + " misses";
+    }
+
+    static LruCache<String, LocalDate> parseCache() {
+        return PARSED;
+    }
+
+    static LruCache<LocalDate, String> formatCache() {
+        return FORMATTED;
     }
 }
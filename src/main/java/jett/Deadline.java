@@ -1,6 +1,7 @@
 package jett;
 
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -19,8 +20,28 @@ public class Deadline extends Task {
      * @param by the due date string, which will be parsed into a {@link LocalDate}
      */
     public Deadline(String description, String by) {
-        super(description);
-        this.by = DateParser.parseDate(by);
+        this(description, DateParser.parseDate(by));
+    }
+
+    /**
+     * Creates a new {@code Deadline} task with a description and an already parsed due date.
+     *
+     * @param description the description of the task
+     * @param by the due date
+     */
+    public Deadline(String description, LocalDate by) {
+        super(description, Objects.requireNonNull(by, "by"));
+        this.by = by;
+    }
+
+    private Deadline(Deadline other, boolean isDone) {
+        super(other, isDone);
+        this.by = other.by;
+    }
+
+    @Override
+    Deadline withDone(boolean isDone) {
+        return new Deadline(this, isDone);
     }
 
     /**
@@ -52,13 +73,15 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of this deadline task.
+     * Appends the string representation of this deadline task.
      * The format includes the task type, status, description, and due date.
      *
-     * @return formatted string representation of the deadline
+     * @param sb the builder to append to
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + DateParser.formatDate(by) + ")";
+    public void appendTo(StringBuilder sb) {
+        sb.append("[D]");
+        super.appendTo(sb);
+        sb.append(" (by: ").append(DateParser.formatDate(by)).append(')');
     }
 }
@@ -1,66 +1,85 @@
 package jett;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.shape.Circle;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * The box is built in code rather than loaded from FXML, so creating one parses nothing.
+ * </p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
-        dialog.setText(text);
+    /**
+     * Creates an empty dialog box, to be filled by {@link #show(ChatMessage, Image)}.
+     * A {@link ChatCell} creates one and reuses it for every message it displays.
+     */
+    DialogBox() {
         // Readability + responsive wrapping
         dialog.setWrapText(true);
         dialog.setMaxWidth(420); // keeps long replies readable; lets window resize gracefully
+        dialog.setMinHeight(Region.USE_PREF_SIZE); // never clip a wrapped reply
         // Give the bubble a style hook (CSS: .bubble)
         dialog.getStyleClass().add("bubble");
 
         // Space-efficient avatar + circular crop
-        displayPicture.setImage(img);
+        displayPicture.setPickOnBounds(true);
         displayPicture.setFitWidth(50);
         displayPicture.setFitHeight(50);
         displayPicture.setPreserveRatio(true);
         displayPicture.setClip(new Circle(25, 25, 25));
 
+        setSpacing(8);
+        setPadding(new Insets(8));
         // Base dialog style hook (CSS: .dialog)
         getStyleClass().add("dialog");
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows {@code message} in this box, replacing whatever it showed before.
+     * The user's text sits left of their picture, aligned right; Jett's replies, errors and pending replies have
+     * the picture on the left, aligned left, and errors and pending replies are styled apart.
+     *
+     * @param message the message to show
+     * @param img     the picture of whoever sent it
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    void show(ChatMessage message, Image img) {
+        dialog.setText(message.text());
+        displayPicture.setImage(img);
+        // Asymmetric styling hooks (CSS: .dialog-user, .dialog-bot, .dialog-error)
+        getStyleClass().removeAll("dialog-user", "dialog-bot", "dialog-error", "dialog-pending");
+        switch (message.speaker()) {
+        case USER:
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT); // align the whole box to the right side track
+            getStyleClass().add("dialog-user");
+            break;
+        case ERROR:
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            getStyleClass().addAll("dialog-bot", "dialog-error");
+            break;
+        case PENDING:
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            getStyleClass().addAll("dialog-bot", "dialog-pending");
+            break;
+        default:
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            getStyleClass().add("dialog-bot");
+            break;
+        }
     }
 
     /**
@@ -68,23 +87,18 @@ public class DialogBox extends HBox {
      * The text bubble appears on the left, and the user image on the right.
      */
     public static DialogBox getUserDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        // Asymmetric styling hook (CSS: .dialog-user)
-        db.getStyleClass().add("dialog-user");
-        db.setAlignment(Pos.TOP_RIGHT); // align the whole box to the right side track
+        DialogBox db = new DialogBox();
+        db.show(ChatMessage.fromUser(text), img);
         return db;
     }
 
     /**
      * Creates a {@code DialogBox} for Jett's responses.
-     * The dialog box is flipped such that the application image is on the left
-     * and the response text on the right.
+     * The application image is on the left and the response text on the right.
      */
     public static DialogBox getJettDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        // Asymmetric styling hook (CSS: .dialog-bot)
-        db.getStyleClass().add("dialog-bot");
+        DialogBox db = new DialogBox();
+        db.show(new ChatMessage(ChatMessage.Speaker.JETT, text), img);
         return db;
     }
 
@@ -93,9 +107,8 @@ public class DialogBox extends HBox {
      * Same layout as Jett's responses, but with an additional error style.
      */
     public static DialogBox getErrorDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        db.getStyleClass().addAll("dialog-bot", "dialog-error");
+        DialogBox db = new DialogBox();
+        db.show(new ChatMessage(ChatMessage.Speaker.ERROR, text), img);
         return db;
     }
 }
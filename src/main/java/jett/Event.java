@@ -1,6 +1,7 @@
 package jett;
 
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -22,14 +23,37 @@ public class Event extends Task {
      * @throws IllegalArgumentException if {@code to} is before {@code from}
      */
     public Event(String description, String from, String to) {
-        super(description);
-        this.from = DateParser.parseDate(from);
-        this.to = DateParser.parseDate(to);
+        this(description, DateParser.parseDate(from), DateParser.parseDate(to));
+    }
+
+    /**
+     * Creates a new {@code Event} task with a description and already parsed start and end dates.
+     *
+     * @param description the description of the event
+     * @param from the start date
+     * @param to the end date
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     */
+    public Event(String description, LocalDate from, LocalDate to) {
+        super(description, Objects.requireNonNull(from, "from"));
+        this.from = from;
+        this.to = Objects.requireNonNull(to, "to");
         if (this.to.isBefore(this.from)) {
             throw new IllegalArgumentException("event end date cannot be before start date");
         }
     }
 
+    private Event(Event other, boolean isDone) {
+        super(other, isDone);
+        this.from = other.from;
+        this.to = other.to;
+    }
+
+    @Override
+    Event withDone(boolean isDone) {
+        return new Event(this, isDone);
+    }
+
     /**
      * Identifies this task as a {@link TaskKind#EVENT}.
      *
@@ -60,19 +84,19 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of this event task.
+     * Appends the string representation of this event task.
      * The format includes the task type, status, description, and date range.
      *
-     * @return formatted string representation of the event
+     * @param sb the builder to append to
      */
     @Override
-    public String toString() {
-        return "[E]"
-                + super.toString()
-                + " (from: "
-                + DateParser.formatDate(from)
-                + " to: "
-                + DateParser.formatDate(to)
-                + ")";
+    public void appendTo(StringBuilder sb) {
+        sb.append("[E]");
+        super.appendTo(sb);
+        sb.append(" (from: ")
+                .append(DateParser.formatDate(from))
+                .append(" to: ")
+                .append(DateParser.formatDate(to))
+                .append(')');
     }
 }
@@ -1,5 +1,18 @@
 package jett;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Represents the main entry point of the Jett application.
  * This class initialises the core components (UI, storage, and task list),
@@ -7,9 +20,17 @@ package jett;
  * from greeting to exit.
  */
 public class Jett {
+    static final String DEFAULT_DATA_FILE = "data/Jett.txt";
+    private static final String CLI_USAGE =
+            "Usage: jett.Jett [--data <file>] [--mode snapshot|journal|binary|incremental]"
+            + " [--durability none|data|metadata]";
+
     private final Storage storage;
     private final TaskList list;
     private final Ui ui;
+    private final BackgroundSaver saver; // null when saving synchronously
+    private final CommandStats stats;
+    private final Path statsFile;
 
     /**
      * Constructs a new {@code Jett} instance.
@@ -19,19 +40,86 @@ public class Jett {
      * @param filePath Path to the data file where tasks are stored
      */
     public Jett(String filePath) {
+        this(filePath, Storage.Mode.SNAPSHOT);
+    }
+
+    /**
+     * Constructs a new {@code Jett} instance that persists tasks using the given storage mode.
+     *
+     * @param filePath Path to the data file where tasks are stored
+     * @param mode     how {@link Storage} writes changes to disk
+     */
+    public Jett(String filePath, Storage.Mode mode) {
+        this(filePath, mode, false);
+    }
+
+    /**
+     * Constructs a new {@code Jett} instance, optionally saving on a background thread.
+     * <p>
+     * With {@code isAsyncSave}, {@link #getResponse(String)} never waits on the disk: changes are
+     * handed to a single background writer that combines bursts of commands into one write.
+     * Pending changes are flushed before the reply to {@code bye} is returned, and on JVM shutdown.
+     * </p>
+     *
+     * @param filePath    Path to the data file where tasks are stored
+     * @param mode        how {@link Storage} writes changes to disk
+     * @param isAsyncSave whether to save on a background thread
+     */
+    public Jett(String filePath, Storage.Mode mode, boolean isAsyncSave) {
+        this(filePath, mode, isAsyncSave, false);
+    }
+
+    /**
+     * Constructs a new {@code Jett} instance, optionally saving on a background thread and optionally keeping
+     * its tasks in a {@link ConcurrentTaskList}.
+     * <p>
+     * With {@code hasConcurrentReaders}, {@link #tasks()} returns a published snapshot without waiting for a
+     * command in progress, at the cost of copying the task references on most changes and of {@code find} and
+     * sorted listings working from the snapshot instead of the incrementally maintained {@link SearchIndex} and
+     * {@link SortedView}s. Only worth it when other threads read the tasks while commands run, as in
+     * {@link JettServer}.
+     * </p>
+     *
+     * @param filePath             Path to the data file where tasks are stored
+     * @param mode                 how {@link Storage} writes changes to disk
+     * @param isAsyncSave          whether to save on a background thread
+     * @param hasConcurrentReaders whether {@link #tasks()} is called while commands run on other threads
+     */
+    public Jett(String filePath, Storage.Mode mode, boolean isAsyncSave, boolean hasConcurrentReaders) {
+        this(filePath, mode, Storage.Durability.NONE, isAsyncSave, hasConcurrentReaders);
+    }
+
+    /**
+     * Constructs a new {@code Jett} instance whose saves reach the disk as hard as {@code durability} asks,
+     * optionally saving on a background thread and optionally keeping its tasks in a {@link ConcurrentTaskList}.
+     *
+     * @param filePath             Path to the data file where tasks are stored
+     * @param mode                 how {@link Storage} writes changes to disk
+     * @param durability           how hard each save tries to reach the physical disk
+     * @param isAsyncSave          whether to save on a background thread
+     * @param hasConcurrentReaders whether {@link #tasks()} is called while commands run on other threads
+     */
+    public Jett(String filePath, Storage.Mode mode, Storage.Durability durability, boolean isAsyncSave,
+            boolean hasConcurrentReaders) {
         assert filePath != null && !filePath.isBlank() : "Storage path must be non-empty";
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
+        this.storage = new Storage(filePath, mode);
+        storage.setDurability(durability); // before loading, which may migrate the data file
+        this.stats = new CommandStats(storage.getMetrics());
+        this.statsFile = Path.of(filePath + ".stats");
 
-        TaskList loadedList;
+        ArrayList<Task> loaded;
         try {
-            loadedList = new TaskList(storage.getData());
+            loaded = storage.getData();
         } catch (JettException e) {
-            System.out.println(ui.getError("Could not load data. Starting with an empty list."));
-            loadedList = new TaskList();
+            System.out.println(ui.getError("Could not load data (" + e.getMessage()
+                    + "). Starting with an empty list that will not be saved."));
+            loaded = new ArrayList<>();
         }
-        assert loadedList != null : "TaskList must be initialised";
-        this.list = loadedList;
+        this.list = hasConcurrentReaders ? new ConcurrentTaskList(loaded) : new TaskList(loaded);
+        this.saver = isAsyncSave
+                ? new BackgroundSaver(storage, list, BackgroundSaver.DEFAULT_LINGER_MILLIS)
+                : null;
     }
 
     /**
@@ -47,9 +135,12 @@ public class Jett {
      * Processes a single line of user input and returns a response string suitable for display.
      * Delegates to {@link Parser} to interpret the command and may
      * <em>mutate</em> the internal {@link TaskList}. On successful command execution,
-     * the updated task list is persisted via {@link Storage#saveNow(TaskList)}.
+     * the updated task list is persisted via {@link Storage#saveNow(TaskList)}, or handed to the
+     * background writer when saving asynchronously.
      * If a {@link JettException} occurs, its message is rendered through the UI error formatter.
      * Any other unexpected exception is caught and rendered as a generic error.
+     * Each phase of the command is timed for the {@code stats} command; on {@code bye} the statistics are also
+     * written next to the data file, with the extension {@code .stats}.
      *
      * @param input a non-{@code null} line of user input
      * @return the UI-rendered response string (never {@code null} or empty)
@@ -57,16 +148,281 @@ public class Jett {
     public String getResponse(String input) {
         assert input != null : "input must not be null";
         String response;
+        Parser.Command cmd = Parser.Command.from(input);
+        CommandStats.Timer timer = stats.start();
         try {
-            response = Parser.respondToUser(input, list);
-            storage.saveNow(list);
+            boolean isChanged;
+            synchronized (list) {
+                response = Parser.respondToUser(input, list, timer);
+                timer.lap(CommandStats.Phase.RENDER);
+                isChanged = list.hasPendingChanges();
+            }
+            if (saver == null) {
+                storage.saveNow(list);
+            } else if (isChanged) {
+                saver.markDirty();
+            }
+            timer.lap(CommandStats.Phase.SAVE);
+            if (cmd == Parser.Command.BYE) {
+                if (saver != null) {
+                    saver.flush();
+                }
+                timer.finish(cmd);
+                exportStats();
+            }
             return response;
         } catch (JettException e) {
             response = ui.getError(e.getMessage());
         } catch (Exception e) {
             response = ui.getError("Try again.");
+        } finally {
+            if (cmd != Parser.Command.BYE) {
+                timer.finish(cmd);
+            }
         }
         assert response != null && !response.isEmpty() : "response must be non-empty";
         return response;
     }
+
+    /**
+     * Processes several lines of user input in order and returns one response per line,
+     * saving once at the end instead of after every line. A line that fails gets an error response
+     * and the remaining lines still run.
+     *
+     * @param inputs the lines of user input, e.g. a script of bulk edits
+     * @return the UI-rendered response to each line, in order
+     */
+    public List<String> getResponses(List<String> inputs) {
+        return getResponses(inputs, false);
+    }
+
+    /**
+     * Processes several lines of user input in order, saving once at the end.
+     * <p>
+     * With {@code isAllOrNothing}, the batch stops at the first line that fails and the task list is rolled
+     * back to how it was before the batch, so either every line takes effect or none does. The response to
+     * the failing line is its error followed by a note that the batch was undone, and it is the last response.
+     * </p>
+     *
+     * @param inputs         the lines of user input
+     * @param isAllOrNothing whether a failing line undoes the whole batch
+     * @return the UI-rendered response to each line that ran, in order
+     */
+    public List<String> getResponses(List<String> inputs, boolean isAllOrNothing) {
+        assert inputs != null : "inputs must not be null";
+        List<String> responses = new ArrayList<>(inputs.size());
+        boolean isChanged;
+        boolean isBye = false;
+        synchronized (list) {
+            TaskList.Checkpoint checkpoint = isAllOrNothing ? list.checkpoint() : null;
+            for (String input : inputs) {
+                assert input != null : "input must not be null";
+                String error;
+                Parser.Command cmd = Parser.Command.from(input);
+                CommandStats.Timer timer = stats.start();
+                try {
+                    responses.add(Parser.respondToUser(input, list, timer));
+                    timer.lap(CommandStats.Phase.RENDER);
+                    isBye |= cmd == Parser.Command.BYE;
+                    continue;
+                } catch (JettException e) {
+                    error = ui.getError(e.getMessage());
+                } catch (Exception e) {
+                    error = ui.getError("Try again.");
+                } finally {
+                    timer.finish(cmd);
+                }
+                if (!isAllOrNothing) {
+                    responses.add(error);
+                    continue;
+                }
+                list.rollback(checkpoint);
+                isBye = false;
+                responses.add(error + "\nNothing in this batch was applied.");
+                break;
+            }
+            isChanged = list.hasPendingChanges();
+        }
+        if (saver == null) {
+            storage.saveNow(list);
+        } else if (isChanged) {
+            saver.markDirty();
+        }
+        if (saver != null && isBye) {
+            saver.flush();
+        }
+        if (isBye) {
+            exportStats();
+        }
+        return responses;
+    }
+
+    /**
+     * Returns the tasks as they were after the last change. The returned list and its tasks never change.
+     * With concurrent readers this is a published snapshot and never waits for a command in progress; otherwise
+     * the tasks are copied while holding the list's lock.
+     *
+     * @return an immutable snapshot of the tasks, in list order
+     */
+    List<Task> tasks() {
+        if (list instanceof ConcurrentTaskList concurrent) {
+            return concurrent.snapshot();
+        }
+        synchronized (list) {
+            Task[] copies = new Task[list.size()];
+            for (int i = 0; i < copies.length; i++) {
+                Task t = list.get(i);
+                copies[i] = t.withDone(t.isDone()); // the original may still be marked or unmarked
+            }
+            return List.of(copies);
+        }
+    }
+
+    /**
+     * Blocks until every change made so far has been written by the background writer.
+     * Returns immediately when saving synchronously.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitDurable() throws InterruptedException {
+        if (saver != null) {
+            saver.awaitDurable();
+        }
+    }
+
+    /**
+     * Reports how long the GUI took to start along with the command timings shown by {@code stats}.
+     *
+     * @param startup the startup times of the window showing this instance
+     */
+    void setStartupMetrics(StartupMetrics startup) {
+        stats.setStartup(startup);
+    }
+
+    /**
+     * Flushes pending changes and stops the background writer, if any, then writes the command statistics
+     * next to the data file.
+     */
+    void close() {
+        if (saver != null) {
+            saver.close();
+        }
+        exportStats();
+    }
+
+    /**
+     * Writes the command statistics to the {@code .stats} file next to the data file. A failure is reported on
+     * standard error, away from the replies in {@code --cli} mode, and otherwise ignored, since the statistics are
+     * only diagnostics.
+     */
+    private void exportStats() {
+        try {
+            stats.exportTo(statsFile);
+        } catch (IOException e) {
+            System.err.println("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs Jett without a GUI: reads one command per line from standard input and writes each reply to
+     * standard output, until {@code bye} or the end of input. Never loads JavaFX, so it starts in milliseconds
+     * and can be driven by scripts. Anything else Jett prints, such as a data file that could not be loaded,
+     * goes to standard error.
+     * <p>
+     * Options: {@code --data <file>} (default {@value #DEFAULT_DATA_FILE}),
+     * {@code --mode <snapshot|journal|binary|incremental>} (default {@code snapshot}) and
+     * {@code --durability <none|data|metadata>} (default {@code none}, see {@link Storage.Durability}).
+     * </p>
+     *
+     * @param args command-line options
+     */
+    public static void main(String[] args) {
+        // Standard output carries only the replies; load and save problems reported with System.out go to
+        // standard error instead, so they never end up in a script's output.
+        PrintStream replies = System.out;
+        System.setOut(System.err);
+        Jett jett;
+        try {
+            jett = fromOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(CLI_USAGE);
+            System.exit(2);
+            return;
+        }
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        Writer out = new BufferedWriter(new OutputStreamWriter(replies, StandardCharsets.UTF_8));
+        try {
+            jett.run(in, out);
+        } catch (IOException e) {
+            System.err.println("Something went wrong: " + e.getMessage());
+        } finally {
+            jett.close();
+        }
+    }
+
+    /**
+     * Creates a {@code Jett} that saves asynchronously, from the {@code --data <file>},
+     * {@code --mode <snapshot|journal|binary|incremental>} and {@code --durability <none|data|metadata>}
+     * command-line options.
+     *
+     * @param args the options
+     * @return the new instance
+     * @throws IllegalArgumentException if an option is unknown, incomplete or names no storage mode or level
+     */
+    static Jett fromOptions(String[] args) {
+        return fromOptions(args, false);
+    }
+
+    /**
+     * Same as {@link #fromOptions(String[])}, optionally keeping the tasks in a {@link ConcurrentTaskList}.
+     *
+     * @param args                 the options
+     * @param hasConcurrentReaders whether {@link #tasks()} is called while commands run on other threads
+     * @return the new instance
+     * @throws IllegalArgumentException if an option is unknown, incomplete or names no storage mode or level
+     */
+    static Jett fromOptions(String[] args, boolean hasConcurrentReaders) {
+        String dataFile = DEFAULT_DATA_FILE;
+        Storage.Mode mode = Storage.Mode.SNAPSHOT;
+        Storage.Durability durability = Storage.Durability.NONE;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--data") && i + 1 < args.length) {
+                dataFile = args[++i];
+            } else if (args[i].equals("--mode") && i + 1 < args.length) {
+                mode = Storage.Mode.valueOf(args[++i].toUpperCase(Locale.ROOT));
+            } else if (args[i].equals("--durability") && i + 1 < args.length) {
+                durability = Storage.Durability.valueOf(args[++i].toUpperCase(Locale.ROOT));
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        return new Jett(dataFile, mode, durability, true, hasConcurrentReaders);
+    }
+
+    /**
+     * Answers every line of {@code in} on {@code out}, each reply followed by a blank line, until {@code bye} or
+     * the end of input. Output is flushed whenever no more input is waiting, so a piped script is written in
+     * large blocks while an interactive user still sees every reply at once.
+     *
+     * @param in  the commands, one per line
+     * @param out where the greeting and replies are written
+     * @throws IOException if reading or writing fails
+     */
+    void run(BufferedReader in, Writer out) throws IOException {
+        out.write(getGreeting());
+        out.write("\n\n");
+        out.flush();
+        String line;
+        while ((line = in.readLine()) != null) {
+            out.write(getResponse(line));
+            out.write("\n\n");
+            if (Parser.Command.from(line) == Parser.Command.BYE) {
+                break;
+            }
+            if (!in.ready()) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
 }
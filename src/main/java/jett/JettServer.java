@@ -0,0 +1,398 @@
+package jett;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves Jett over HTTP on the loopback interface, so other local tools can drive the task list without the GUI.
+ * <p>
+ * Endpoints (all replies are JSON, all request bodies UTF-8 text):
+ * </p>
+ * <ul>
+ *   <li>{@code POST /command}: the body is one command line; replies {@code {"reply": "..."}}, exactly what
+ *   {@link Jett#getResponse(String)} returns;</li>
+ *   <li>{@code POST /batch[?atomic=true]}: the body is one command per line, run by
+ *   {@link Jett#getResponses(List, boolean)}; replies {@code {"replies": [...]}};</li>
+ *   <li>{@code GET /tasks[?done=true|false]}: the tasks as structured data, e.g.
+ *   {@code {"tasks": [{"number": 1, "type": "deadline", "done": false, "description": "...", "by": "2025-09-06"}]}}.
+ *   </li>
+ * </ul>
+ * Only this computer may use the server, and a web page open in a browser must not be able to. A request is refused
+ * with 403 if its {@code Host} is not a loopback name or address (which defeats DNS rebinding), or if it carries an
+ * {@code Origin} that is not. {@code POST} requests must also carry the {@value #CLIENT_HEADER} header: a browser
+ * will not add it to a cross-site request without first asking the server, which never agrees.
+ * <p>
+ * Each request runs on its own virtual thread when the JVM has them (Java 21+), and on a bounded pool of platform
+ * threads otherwise. Commands are serialised on the task list's lock, while {@code GET /tasks} reads a snapshot
+ * of a {@link ConcurrentTaskList} without it. Changes are saved by the background writer, which combines the saves
+ * of a burst of requests into one write.
+ * </p>
+ */
+public final class JettServer {
+
+    static final int DEFAULT_PORT = 8765;
+    /** Largest request body accepted, in bytes. */
+    static final int MAX_BODY_BYTES = 1 << 20;
+    /** Header every {@code POST} must carry, with any value. */
+    static final String CLIENT_HEADER = "X-Jett-Client";
+
+    /** Options passed on to {@link Jett#fromOptions(String[], boolean)}. */
+    private static final List<String> JETT_OPTIONS = List.of("--data", "--mode", "--durability");
+    private static final String USAGE =
+            "Usage: jett.JettServer [--port <n>] [--data <file>] [--mode snapshot|journal|binary|incremental]"
+            + " [--durability none|data|metadata]";
+
+    static {
+        // small replies otherwise wait out delayed ACKs (about 40 ms each); must be set before the server loads
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Jett jett;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server for {@code jett} bound to {@code port} on the loopback interface. It does not accept
+     * requests until {@link #start()}.
+     *
+     * @param jett the instance whose task list is served; should save asynchronously and have concurrent readers,
+     *             so that {@code GET /tasks} does not wait for commands
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public JettServer(Jett jett, int port) throws IOException {
+        assert jett != null : "Jett must not be null";
+        this.jett = jett;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread, or, before Java 21, a fixed pool of
+     * platform threads sized for short, lock-bound requests.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method perTask = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) perTask.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "jett-http-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the address of the server, e.g. {@code http://127.0.0.1:8765/}.
+     *
+     * @return the base URI that the endpoint paths are resolved against
+     */
+    public URI getBaseUri() {
+        try {
+            return new URI("http", null, server.getAddress().getAddress().getHostAddress(), getPort(), "/", null, null);
+        } catch (URISyntaxException e) {
+            throw new AssertionError("Loopback address is a valid host", e);
+        }
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for those in progress, and flushes unsaved changes.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        jett.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            route(exchange);
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        try {
+            if (!isLocal(exchange)) {
+                send(exchange, 403, "{\"error\": \"Only local clients may use this server\"}");
+                return;
+            }
+            switch (path) {
+            case "/command":
+                if (requireMethod(exchange, method, "POST") && requireClientHeader(exchange)) {
+                    String reply = jett.getResponse(readBody(exchange));
+                    send(exchange, 200, "{\"reply\": " + quote(reply) + "}");
+                }
+                break;
+            case "/batch":
+                if (requireMethod(exchange, method, "POST") && requireClientHeader(exchange)) {
+                    boolean isAtomic = "true".equals(queryParameter(exchange, "atomic"));
+                    List<String> replies = jett.getResponses(readBody(exchange).lines().toList(), isAtomic);
+                    StringBuilder json = new StringBuilder("{\"replies\": [");
+                    for (int i = 0; i < replies.size(); i++) {
+                        json.append(i == 0 ? "" : ", ").append(quote(replies.get(i)));
+                    }
+                    send(exchange, 200, json.append("]}").toString());
+                }
+                break;
+            case "/tasks":
+                if (requireMethod(exchange, method, "GET")) {
+                    String done = queryParameter(exchange, "done");
+                    send(exchange, 200, tasksJson(done == null ? null : Boolean.valueOf(done)));
+                }
+                break;
+            default:
+                send(exchange, 404, "{\"error\": " + quote("Unknown path " + path) + "}");
+                break;
+            }
+        } catch (RequestTooLargeException e) {
+            send(exchange, 413, "{\"error\": \"Request body is larger than " + MAX_BODY_BYTES + " bytes\"}");
+        } catch (IllegalArgumentException e) { // e.g. a malformed escape in the query
+            send(exchange, 400, "{\"error\": " + quote("Malformed request: " + e.getMessage()) + "}");
+        } catch (RuntimeException e) {
+            send(exchange, 500, "{\"error\": \"Something went wrong\"}");
+        }
+    }
+
+    /**
+     * Returns whether the request names this computer as its {@code Host}, and comes from no web page or from one
+     * served by this computer.
+     */
+    private static boolean isLocal(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host != null && !isLoopbackHost(host)) {
+            return false;
+        }
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin == null) {
+            return true;
+        }
+        try {
+            String authority = new URI(origin).getRawAuthority();
+            return authority != null && isLoopbackHost(authority);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether {@code authority}, a host with an optional port such as {@code localhost:8765} or
+     * {@code [::1]:8765}, names the loopback interface.
+     */
+    private static boolean isLoopbackHost(String authority) {
+        String host;
+        if (authority.startsWith("[")) {
+            int close = authority.indexOf(']');
+            host = close < 0 ? "" : authority.substring(1, close);
+        } else {
+            int colon = authority.indexOf(':');
+            host = colon < 0 ? authority : authority.substring(0, colon);
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return host.equals("localhost") || host.equals("127.0.0.1") || host.equals("::1");
+    }
+
+    private static boolean requireClientHeader(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestHeaders().containsKey(CLIENT_HEADER)) {
+            return true;
+        }
+        send(exchange, 403, "{\"error\": \"Send the " + CLIENT_HEADER + " header\"}");
+        return false;
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String method, String expected) throws IOException {
+        if (method.equals(expected)) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", expected);
+        send(exchange, 405, "{\"error\": \"Use " + expected + "\"}");
+        return false;
+    }
+
+    /**
+     * Renders the tasks, optionally only those whose done state is {@code done}, numbered as in {@code list}.
+     * Reads a snapshot of the list, so it never waits for a command in progress.
+     */
+    private String tasksJson(Boolean done) {
+        List<Task> tasks = jett.tasks();
+        StringBuilder json = new StringBuilder(64 + tasks.size() * 80).append("{\"tasks\": [");
+        boolean isFirst = true;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            if (done != null && t.isDone() != done) {
+                continue;
+            }
+            json.append(isFirst ? "" : ", ");
+            appendTask(json, i + 1, t);
+            isFirst = false;
+        }
+        return json.append("]}").toString();
+    }
+
+    static void appendTask(StringBuilder json, int number, Task t) {
+        json.append("{\"number\": ").append(number)
+                .append(", \"type\": \"").append(t.kind().name().toLowerCase(Locale.ROOT))
+                .append("\", \"done\": ").append(t.isDone())
+                .append(", \"description\": ").append(quote(t.getDescription()));
+        switch (t.kind()) {
+        case DEADLINE:
+            json.append(", \"by\": \"").append(((Deadline) t).getBy()).append('"');
+            break;
+        case EVENT:
+            json.append(", \"from\": \"").append(((Event) t).getFrom())
+                    .append("\", \"to\": \"").append(((Event) t).getTo()).append('"');
+            break;
+        default:
+            break;
+        }
+        json.append('}');
+    }
+
+    /**
+     * Returns {@code s} as a JSON string literal.
+     */
+    static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"' -> sb.append("\\\"");
+            case '\\' -> sb.append("\\\\");
+            case '\n' -> sb.append("\\n");
+            case '\r' -> sb.append("\\r");
+            case '\t' -> sb.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new RequestTooLargeException();
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a server on the loopback interface and runs until the JVM is stopped.
+     * Options: {@code --port <n>} (default {@value #DEFAULT_PORT}), {@code --data <file>},
+     * {@code --mode <snapshot|journal|binary|incremental>} and {@code --durability <none|data|metadata>}, as for
+     * {@link Jett#main(String[])}.
+     *
+     * @param args command-line options
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        List<String> jettArgs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--port") && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                } else if (JETT_OPTIONS.contains(args[i]) && i + 1 < args.length) {
+                    jettArgs.add(args[i]);
+                    jettArgs.add(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+            JettServer server = new JettServer(Jett.fromOptions(jettArgs.toArray(new String[0]), true), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "jett-server-stop"));
+            server.start();
+            System.out.println("Jett is listening on " + server.getBaseUri());
+        } catch (IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Something went wrong: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Thrown when a request body exceeds {@link #MAX_BODY_BYTES}.
+     */
+    private static final class RequestTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,108 @@
+package jett;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, in the style of HdrHistogram: each power of two is split
+ * into 32 equal buckets, so a percentile is reported at most 1/32 (about 3%) above the true value, whatever its
+ * size. Durations of {@code 2^37} ns (about two minutes) or more share the top bucket; the maximum is exact.
+ * <p>
+ * Recording is a few atomic increments and never blocks, so any thread may record while others read.
+ * A read that races with recording may miss the latest values but is otherwise consistent.
+ * </p>
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Highest power of two with its own buckets. */
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values count as {@code 0}
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns how many durations were recorded.
+     *
+     * @return the number of recorded durations
+     */
+    long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the longest duration recorded.
+     *
+     * @return the maximum in nanoseconds, {@code 0} if nothing was recorded
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the duration that {@code percentile} percent of the recorded durations do not exceed, rounded up
+     * to the top of its bucket but never above {@link #getMax()}.
+     *
+     * @param percentile between {@code 0} and {@code 100}, e.g. {@code 99}
+     * @return the duration in nanoseconds, {@code 0} if nothing was recorded
+     */
+    long getPercentile(double percentile) {
+        long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the bucket of {@code value}: values below 32 have a bucket each, and every larger power of two
+     * {@code [2^e, 2^(e+1))} is split into 32 buckets by the 5 bits after its leading one.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the largest value that falls in bucket {@code index}.
+     */
+    static long highestIn(int index) {
+        int group = index / SUB_BUCKETS;
+        if (group == 0) {
+            return index;
+        }
+        int shift = group - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
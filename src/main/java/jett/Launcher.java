@@ -1,5 +1,7 @@
 package jett;
 
+import java.util.Arrays;
+
 import javafx.application.Application;
 
 /**
@@ -8,10 +10,20 @@ import javafx.application.Application;
 public class Launcher {
     /**
      * Launches the JavaFX application by delegating to {@link Application#launch(Class, String...)}.
+     * With {@code --cli} or {@code --server} as the first argument, runs the headless {@link Jett#main(String[])}
+     * or {@link JettServer#main(String[])} instead, passing on the remaining arguments; JavaFX is then never loaded.
      *
      * @param args command-line arguments passed to the application
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--cli")) {
+            Jett.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            JettServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -0,0 +1,111 @@
+package jett;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache that evicts the least recently used entry once full.
+ * <p>
+ * Entries are spread over a few independently locked segments, each an access-ordered {@link LinkedHashMap},
+ * so parallel loaders rarely wait on each other. Eviction is least-recently-used within a segment,
+ * which approximates it across the whole cache.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class LruCache<K, V> {
+
+    private static final int SEGMENTS = 8;
+
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache holding at most about {@code capacity} entries.
+     *
+     * @param capacity the maximum number of entries; must be at least the number of segments
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    LruCache(int capacity) {
+        assert capacity >= SEGMENTS : "Capacity must cover every segment";
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(capacity / SEGMENTS);
+        }
+    }
+
+    /**
+     * Returns the value cached for {@code key}, marking it as recently used, and counts a hit or a miss.
+     *
+     * @param key the key to look up
+     * @return the cached value, or {@code null} if there is none
+     */
+    V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    /**
+     * Caches {@code value} for {@code key}, evicting the least recently used entry of its segment if full.
+     *
+     * @param key   the key
+     * @param value the value; must not be {@code null}
+     */
+    void put(K key, V value) {
+        assert value != null : "Cannot cache null";
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * One independently locked part of the cache.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -10,16 +10,23 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for Jett using FXML.
+ * <p>
+ * Starts progressively: the window and greeting appear first, and the tasks load in the background.
+ * How long each step took is reported by the {@code stats} command, see {@link StartupMetrics}.
+ * </p>
  */
 public class Main extends Application {
 
-    private Jett jett = new Jett("data/Jett.txt");
+    private final StartupMetrics startup = new StartupMetrics();
+    private MainWindow mainWindow; // set once the window is built
 
     /**
      * Initialises and displays the primary JavaFX stage.
      * <p>
      * Loads the UI layout from {@code /view/MainWindow.fxml}, wraps it in a
-     * {@link Scene}, and injects the {@link Jett} instance into the controller.
+     * {@link Scene} and shows it, then has the controller create the {@link Jett} instance
+     * in the background, so a large data file does not delay the window. The {@code --data}, {@code --mode}
+     * and {@code --durability} options are read as by {@link Jett#fromOptions(String[])}.
      * </p>
      *
      * @param stage the primary JavaFX stage provided by the runtime
@@ -51,11 +58,24 @@ public class Main extends Application {
             });
 
             stage.setTitle("Jett");
-            fxmlLoader.<MainWindow>getController().setJett(jett); // inject the Jett instance
             stage.show();
+            startup.markShown();
+            // load the tasks in the background; commands typed meanwhile are queued
+            String[] args = getParameters().getRaw().toArray(new String[0]);
+            mainWindow = fxmlLoader.getController();
+            mainWindow.load(() -> Jett.fromOptions(args), startup);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-}
 
+    /**
+     * Runs the commands still queued when the window closes before the application exits.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
+}
@@ -1,64 +1,130 @@
 package jett;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * Commands run on a single background worker, one at a time in the order they were sent, so a slow listing or
+ * save never freezes the window. The user's bubble appears at once, followed by a pending bubble that is
+ * replaced by the reply when it is ready.
+ * </p>
+ * <p>
+ * The tasks are loaded by the same worker, so the window can show before loading finishes: commands sent
+ * meanwhile wait behind the load, in order, while a progress bar is shown. If loading fails, an error is shown and
+ * commands run against an empty list that is not kept.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ChatView chatView;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private HBox loadingPane;
 
-    private Jett jett;
+    private final Ui ui = new Ui();
+    private Jett jett; // only touched on the worker, once loaded; null only if even the fallback failed
 
-    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
-    private final Image jettImage = new Image(this.getClass().getResourceAsStream("/images/Jett.png"));
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "jett-worker");
+        t.setDaemon(true); // stopped by shutdown(); unsaved changes are also flushed by the writer's shutdown hook
+        return t;
+    });
 
     /**
-     * Initialises the controller after FXML loading.
-     * <p>
-     * Enables fit-to-width and auto-scroll so long replies wrap nicely
-     * and new messages are always visible.
-     * </p>
+     * Shows the greeting at once and creates the {@link Jett} instance, which loads the tasks, on the worker.
+     * Commands sent before it is ready are queued behind it and run in order once it is.
+     * The startup times are reported by the {@code stats} command.
+     *
+     * @param loader  creates the instance; runs off the FX thread
+     * @param startup where the end of loading is recorded
      */
-    @FXML
-    public void initialize() {
-        // Make content width match the viewport (helps wrapping + resizing)
-        scrollPane.setFitToWidth(true);
-        dialogContainer.setFillWidth(true);
+    public void load(Supplier<Jett> loader, StartupMetrics startup) {
+        chatView.append(ChatMessage.fromResponse(ui.getGreeting()));
+        setLoading(true);
+        worker.execute(() -> {
+            String error = null;
+            try {
+                jett = loader.get();
+            } catch (RuntimeException e) {
+                error = "Could not load your tasks (" + e.getMessage() + "). Changes will not be kept.";
+                jett = emptyFallback();
+            }
+            startup.markLoaded();
+            if (jett != null) {
+                jett.setStartupMetrics(startup);
+            }
+            String loadError = error;
+            Platform.runLater(() -> {
+                setLoading(false);
+                if (loadError != null) {
+                    chatView.append(ChatMessage.fromResponse(ui.getError(loadError)));
+                }
+            });
+        });
+    }
 
-        // Auto-scroll to bottom on new messages
-        dialogContainer.heightProperty().addListener((
-                obs, oldVal, newVal) -> scrollPane.setVvalue(1.0)
-        );
+    /**
+     * Returns a {@code Jett} on an empty list saved to a temporary file, so commands still work after the tasks
+     * failed to load, or {@code null} if even that cannot be created.
+     */
+    private static Jett emptyFallback() {
+        try {
+            Path file = Files.createTempFile("jett-", ".txt");
+            file.toFile().deleteOnExit();
+            return new Jett(file.toString(), Storage.Mode.SNAPSHOT, true);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
     }
 
     /**
-     * Injects the core {@link Jett} instance into this controller.
-     * Also displays the greeting message from Jett as the first dialog.
+     * Accepts no more commands, waits for those already sent to finish, then closes Jett so its pending saves
+     * are written and its command statistics exported. Called when the application stops, so closing the
+     * window does not drop commands that are still queued.
      */
-    public void setJett(Jett d) {
-        jett = d;
-        dialogContainer.getChildren().add(DialogBox.getJettDialog(jett.getGreeting(), jettImage));
+    public void shutdown() {
+        worker.shutdown(); // still runs what is queued
+        try {
+            if (!worker.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Something went wrong: commands were still running when Jett closed");
+                return; // jett is still in use on the worker
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (jett != null) {
+            jett.close(); // the worker has finished, so nothing else touches jett now
+        }
+    }
+
+    private void setLoading(boolean isLoading) {
+        loadingPane.setVisible(isLoading);
+        loadingPane.setManaged(isLoading);
     }
 
     /**
-     * Echoes user input and appends Jett's reply to the container.
+     * Echoes user input and hands the command to the worker; the reply replaces a pending bubble once ready.
      * Errors are highlighted in a distinct bubble to catch attention.
      */
     @FXML
@@ -69,33 +135,41 @@ public class MainWindow extends AnchorPane {
         }
         String trimmed = input.trim();
 
-        // User bubble
-        dialogContainer.getChildren().add(DialogBox.getUserDialog(trimmed, userImage));
-
-        // Jett reply
-        String response = jett.getResponse(trimmed);
-        boolean isError = response != null && response.startsWith("ERROR: ");
-        String display = isError ? response.substring("ERROR: ".length()) : response;
-
-        dialogContainer.getChildren().add(
-                isError
-                        ? DialogBox.getErrorDialog(display, jettImage)
-                        : DialogBox.getJettDialog(display, jettImage)
-        );
+        // User bubble, then a placeholder for the reply
+        chatView.append(ChatMessage.fromUser(trimmed));
+        ChatMessage pending = ChatMessage.pending();
+        chatView.append(pending);
 
         userInput.clear();
 
-        // Graceful quit on "bye"
-        if (trimmed.equalsIgnoreCase("bye")) {
+        boolean isBye = trimmed.equalsIgnoreCase("bye");
+        worker.execute(() -> {
+            String response = jett == null
+                    ? ui.getError("Jett could not start. Restart it to try again.")
+                    : jett.getResponse(trimmed);
+            Platform.runLater(() -> {
+                // Jett reply (errors become highlighted bubbles)
+                chatView.replace(pending, ChatMessage.fromResponse(response));
+                if (isBye) {
+                    closeSoon();
+                }
+            });
+        });
+
+        // Graceful quit on "bye": accept nothing more, close once its reply (and the final save) is done
+        if (isBye) {
             userInput.setDisable(true);
             sendButton.setDisable(true);
-
-            PauseTransition delay = new PauseTransition(Duration.seconds(1.5));
-            delay.setOnFinished(e -> {
-                Stage stage = (Stage) dialogContainer.getScene().getWindow();
-                stage.close();
-            });
-            delay.play();
+            worker.shutdown(); // still runs what is queued, bye last
         }
     }
+
+    private void closeSoon() {
+        PauseTransition delay = new PauseTransition(Duration.seconds(1.5));
+        delay.setOnFinished(e -> {
+            Stage stage = (Stage) chatView.getScene().getWindow();
+            stage.close();
+        });
+        delay.play();
+    }
 }
@@ -0,0 +1,261 @@
+package jett;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Loads tasks from a data file by memory-mapping it and scanning for line breaks
+ * directly in the mapped bytes.
+ * <p>
+ * The {@code [T][X]} prefix of each line is checked byte by byte; only the text after it
+ * is decoded into a {@code String} and handed to {@link Storage#parseTask(char, boolean, String)}.
+ * Lines are skipped exactly where {@link Storage#parseLine(String)} would skip them.
+ * </p>
+ * <p>
+ * Large files are split into newline-aligned chunks that are parsed in parallel on the
+ * common {@link ForkJoinPool} and merged back in file order.
+ * </p>
+ */
+final class MappedLoader {
+
+    /** Largest region mapped at once; files larger than this are mapped window by window. */
+    static final long WINDOW_BYTES = 256L * 1024 * 1024;
+
+    /** Smallest chunk worth handing to another thread; smaller files are parsed on the calling thread. */
+    static final long MIN_CHUNK_BYTES = 256 * 1024;
+
+    /** Same charset {@link java.io.FileWriter} uses when the data file is saved. */
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private byte[] scratch = new byte[256];
+
+    private MappedLoader() {
+    }
+
+    /**
+     * Parses every line of {@code file} and appends the resulting tasks to {@code out}, in file order.
+     *
+     * @param file the data file to read
+     * @param out  the list receiving parsed tasks
+     * @throws IOException if the file cannot be mapped, or a single line is longer than {@link #WINDOW_BYTES}
+     */
+    static void load(Path file, List<Task> out) throws IOException {
+        boolean isParallel = Runtime.getRuntime().availableProcessors() > 1;
+        load(file, out, isParallel ? MIN_CHUNK_BYTES : Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #load(Path, List)}, splitting the file into chunks of at least {@code minChunkBytes}.
+     *
+     * @param file          the data file to read
+     * @param out           the list receiving parsed tasks
+     * @param minChunkBytes smallest chunk parsed on its own thread
+     * @throws IOException if the file cannot be mapped, or a single line is longer than {@link #WINDOW_BYTES}
+     */
+    static void load(Path file, List<Task> out, long minChunkBytes) throws IOException {
+        assert minChunkBytes > 0 : "Chunk size must be positive";
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long pos = 0;
+            while (pos < size) {
+                long len = Math.min(WINDOW_BYTES, size - pos);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                try {
+                    int end = (int) len;
+                    if (pos + len < size) {
+                        end = lastLineBreak(buf, end) + 1; // leave the partial last line for the next window
+                        if (end == 0) {
+                            throw new IOException("Line too long in " + file);
+                        }
+                    }
+                    parseWindow(buf, end, minChunkBytes, out);
+                    pos += end;
+                } finally {
+                    unmap(buf);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses {@code buf[0, end)}, in parallel if it is large enough, and appends the tasks to {@code out}.
+     * <p>
+     * If parsing a line throws, every task before that line is still added and the exception is rethrown,
+     * just as a single sequential pass would stop at that line.
+     * </p>
+     */
+    private static void parseWindow(ByteBuffer buf, int end, long minChunkBytes, List<Task> out) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunks = (int) Math.max(1, Math.min(pool.getParallelism() * 4L, end / minChunkBytes));
+        if (chunks == 1) {
+            new MappedLoader().parseLines(buf, 0, end, out);
+            return;
+        }
+
+        List<Callable<Chunk>> jobs = new ArrayList<>(chunks);
+        int from = 0;
+        for (int c = 1; c <= chunks; c++) {
+            int to = c == chunks ? end : nextLineStart(buf, Math.max(from, (int) ((long) end * c / chunks)), end);
+            int chunkFrom = from;
+            jobs.add(() -> Chunk.parse(buf, chunkFrom, to));
+            from = to;
+        }
+
+        for (Future<Chunk> f : pool.invokeAll(jobs)) {
+            Chunk chunk;
+            try {
+                chunk = f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading data", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not load data", e.getCause());
+            }
+            out.addAll(chunk.tasks);
+            if (chunk.failure != null) {
+                throw chunk.failure;
+            }
+        }
+    }
+
+    /**
+     * Parses the complete lines in {@code buf[from, to)} and appends the tasks to {@code out}.
+     * Blank lines and lines that do not parse are skipped.
+     *
+     * @param buf  the bytes to parse
+     * @param from index of the first byte of the first line
+     * @param to   index one past the last byte to parse
+     * @param out  the list receiving parsed tasks
+     */
+    void parseLines(ByteBuffer buf, int from, int to, List<Task> out) {
+        int start = from;
+        for (int i = from; i < to; i++) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r') {
+                addIfParsed(buf, start, i, out);
+                start = i + 1;
+            }
+        }
+        addIfParsed(buf, start, to, out);
+    }
+
+    private void addIfParsed(ByteBuffer buf, int start, int end, List<Task> out) {
+        while (start < end && (buf.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return; // blank line
+        }
+        Task t = parseLine(buf, start, end);
+        if (t != null) {
+            out.add(t);
+        }
+    }
+
+    /**
+     * Byte-level equivalent of {@link Storage#parseLine(String)} for a trimmed, non-empty line.
+     */
+    private Task parseLine(ByteBuffer buf, int start, int end) {
+        // Basic shape check: "[T][ ] ..." / "[D][X] ..." / "[E][ ] ..."
+        if (end - start < 6
+                || buf.get(start) != '['
+                || buf.get(start + 1) == ']'
+                || buf.get(start + 2) != ']'
+                || buf.get(start + 3) != '[') {
+            return null;
+        }
+        byte status = buf.get(start + 4);
+        if (status < 0) {
+            // A multi-byte status character shifts the closing bracket; let the String parser decide
+            return Storage.parseLine(decode(buf, start, end));
+        }
+        if (status == ']' || buf.get(start + 5) != ']') {
+            return null;
+        }
+        char taskType = (char) buf.get(start + 1);
+        if (taskType != 'T' && taskType != 'D' && taskType != 'E') {
+            return null;
+        }
+        return Storage.parseTask(taskType, status == 'X', decode(buf, start + 6, end).trim());
+    }
+
+    private String decode(ByteBuffer buf, int start, int end) {
+        int len = end - start;
+        if (scratch.length < len) {
+            scratch = new byte[Math.max(len, scratch.length * 2)];
+        }
+        buf.get(start, scratch, 0, len);
+        return new String(scratch, 0, len, CHARSET);
+    }
+
+    private static int nextLineStart(ByteBuffer buf, int from, int end) {
+        for (int i = from; i < end; i++) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static int lastLineBreak(ByteBuffer buf, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Releases the mapping eagerly so the data file can be rewritten or replaced right after loading
+     * (Windows refuses to truncate or rename a file that is still mapped).
+     * Falls back to leaving it to the garbage collector if the JDK does not allow it.
+     */
+    static void unmap(MappedByteBuffer buf) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buf);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // mapping is released when the buffer is garbage collected
+        }
+    }
+
+    /**
+     * Tasks parsed from one chunk, plus the exception that stopped parsing it early, if any.
+     */
+    private static final class Chunk {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private RuntimeException failure;
+
+        static Chunk parse(ByteBuffer buf, int from, int to) {
+            Chunk chunk = new Chunk();
+            try {
+                new MappedLoader().parseLines(buf, from, to, chunk.tasks);
+            } catch (RuntimeException e) {
+                chunk.failure = e;
+            }
+            return chunk;
+        }
+    }
+}
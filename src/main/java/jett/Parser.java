@@ -1,5 +1,9 @@
 package jett;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -9,37 +13,106 @@ import java.util.Objects;
  */
 public final class Parser {
 
+    /** Tasks listed in the reply to a command that changes many tasks at once. */
+    private static final int MAX_TASKS_SHOWN = 10;
+
     private Parser() {
     }
 
     // Enums
     enum Command {
-        LIST, MARK, UNMARK, DELETE, TODO, DEADLINE, EVENT, FIND, INVALID, BYE;
+        LIST("list"), MARK("mark"), UNMARK("unmark"), DELETE("delete"), TODO("todo"), DEADLINE("deadline"),
+        EVENT("event"), FIND("find"), STATS("stats"), INVALID(null), BYE("bye");
+
+        /** The lower-case command word, or {@code null} if no word selects this command. */
+        private final String keyword;
 
+        Command(String keyword) {
+            this.keyword = keyword;
+        }
+
+        /**
+         * Returns the command named by the first word of {@code input}, ignoring case and surrounding whitespace.
+         *
+         * @param input a line of user input
+         * @return the command, or {@link #INVALID} if the first word is not a command word
+         */
         static Command from(String input) {
             Objects.requireNonNull(input, "input");
-            String cmd = input.trim().split("\\s+", 2)[0].toLowerCase();
-            if (cmd.isEmpty()) {
-                return INVALID;
-            }
-            return switch (cmd) {
-            case "list" -> LIST;
-            case "mark" -> MARK;
-            case "unmark" -> UNMARK;
-            case "delete" -> DELETE;
-            case "todo" -> TODO;
-            case "deadline" -> DEADLINE;
-            case "event" -> EVENT;
-            case "find" -> FIND;
-            case "bye" -> BYE;
-            default -> INVALID;
-            };
+            int end = trimmedEnd(input, 0, input.length());
+            int start = trimmedStart(input, 0, end);
+            return CommandTrie.match(input, start, wordEnd(input, start, end));
+        }
+    }
+
+    /**
+     * The command words in a trie over {@code a}-{@code z}, so the first word of a line is recognised in one
+     * pass without lower-casing a copy of it.
+     */
+    private static final class CommandTrie {
+        private static final int LETTERS = 26;
+        private static final int[][] NEXT;
+        private static final Command[] ACCEPT;
+
+        static {
+            ArrayList<int[]> next = new ArrayList<>();
+            ArrayList<Command> accept = new ArrayList<>();
+            next.add(new int[LETTERS]);
+            accept.add(null);
+            for (Command c : Command.values()) {
+                if (c.keyword == null) {
+                    continue;
+                }
+                int node = 0;
+                for (int i = 0; i < c.keyword.length(); i++) {
+                    int letter = c.keyword.charAt(i) - 'a';
+                    if (next.get(node)[letter] == 0) {
+                        next.get(node)[letter] = next.size();
+                        next.add(new int[LETTERS]);
+                        accept.add(null);
+                    }
+                    node = next.get(node)[letter];
+                }
+                accept.set(node, c);
+            }
+            NEXT = next.toArray(new int[0][]);
+            ACCEPT = accept.toArray(new Command[0]);
+        }
+
+        /**
+         * Returns the command spelled by {@code s[from, to)}, or {@link Command#INVALID}.
+         */
+        static Command match(String s, int from, int to) {
+            int node = 0;
+            for (int i = from; i < to; i++) {
+                int letter = letterOf(s.charAt(i));
+                node = letter < 0 ? 0 : NEXT[node][letter];
+                if (node == 0) {
+                    return Command.INVALID;
+                }
+            }
+            Command c = ACCEPT[node];
+            return c == null ? Command.INVALID : c;
+        }
+
+        /**
+         * Returns the index of the letter {@code c} lower-cases to, or {@code -1}. Besides ASCII letters, only
+         * the Kelvin sign lower-cases to one ({@code k}).
+         */
+        private static int letterOf(char c) {
+            if (c >= 'a' && c <= 'z') {
+                return c - 'a';
+            }
+            if (c >= 'A' && c <= 'Z') {
+                return c - 'A';
+            }
+            return c == '\u212A' ? 'k' - 'a' : -1;
         }
     }
 
     /**
      * Parses a single line of user input and applies the command to the given task list.
-     * Supports the commands: list, todo, deadline, event, mark, unmark, delete, bye.
+     * Supports the commands: list, todo, deadline, event, mark, unmark, delete, find, stats, bye.
      *
      * @param userInput the raw user input line
      * @param list the {@link TaskList} to read or modify
@@ -48,6 +121,15 @@ public final class Parser {
      *                       or contains an invalid command
      */
     public static String respondToUser(String userInput, TaskList list) throws JettException {
+        return respondToUser(userInput, list, CommandStats.Timer.NONE);
+    }
+
+    /**
+     * Same as {@link #respondToUser(String, TaskList)}, lapping {@code timer} when parsing ends
+     * ({@link CommandStats.Phase#DISPATCH}) and when a change to the list ends ({@link CommandStats.Phase#OPERATION}).
+     * Whatever follows the last lap is building the reply, which the caller laps as it sees fit.
+     */
+    static String respondToUser(String userInput, TaskList list, CommandStats.Timer timer) throws JettException {
         Objects.requireNonNull(list, "list");
         Objects.requireNonNull(userInput, "userInput");
 
@@ -61,38 +143,57 @@ public final class Parser {
         Command cmd = Command.from(input);
 
         switch (cmd) {
-        case LIST: { // "list" or "list /alphabetical" | "/date" | "/type"
-            String rest = input.length() >= 4 ? input.substring(4).trim() : "";
-            if (rest.isEmpty()) {
-                return list.listString();
-            } else if (rest.equalsIgnoreCase("/alphabetical")) {
-                return list.listSortedByAlphabetical();
-            } else if (rest.equalsIgnoreCase("/date")) {
-                return list.listSortedByDate();
-            } else if (rest.equalsIgnoreCase("/type")) {
-                return list.listSortedByType();
-            } else {
-                throw new JettException(
-                        "Unknown modifier for 'list'. Use 'list', 'list /alphabetical', 'list /date' or 'list /type'.");
-            }
+        case LIST: { // "list" or "list /alphabetical" | "/date" | "/type", optionally "--page <n> --size <m>"
+            timer.lap(CommandStats.Phase.DISPATCH);
+            return listTasks(input, list);
         }
 
-        case MARK: { // "mark <n>"
-            Task markedTask = list.get(getTaskNumber(input, "mark", list) - 1);
-            markedTask.mark();
+        case MARK: { // "mark <n>", or many: "mark 3-5,8", "mark all", "mark /done"
+            BitSet selected = getTaskSelection(input, "mark", list);
+            if (selected != null) {
+                timer.lap(CommandStats.Phase.DISPATCH);
+                List<Task> markedTasks = list.markAll(selected);
+                timer.lap(CommandStats.Phase.OPERATION);
+                return "Marked " + countOf(markedTasks) + ". Clean finish:" + summaryOf(markedTasks);
+            }
+            int markIndex = getTaskNumber(input, "mark", list) - 1;
+            timer.lap(CommandStats.Phase.DISPATCH);
+            Task markedTask = list.mark(markIndex);
+            timer.lap(CommandStats.Phase.OPERATION);
             return "Marked. Clean finish:\n" + markedTask;
         }
 
-        case UNMARK: { // "unmark <n>"
-            Task unmarkedTask = list.get(getTaskNumber(input, "unmark", list) - 1);
-            unmarkedTask.unmark();
+        case UNMARK: { // "unmark <n>", or many as for mark
+            BitSet selected = getTaskSelection(input, "unmark", list);
+            if (selected != null) {
+                timer.lap(CommandStats.Phase.DISPATCH);
+                List<Task> unmarkedTasks = list.unmarkAll(selected);
+                timer.lap(CommandStats.Phase.OPERATION);
+                return "Reset " + countOf(unmarkedTasks) + ". Try again when you’re ready:"
+                        + summaryOf(unmarkedTasks);
+            }
+            int unmarkIndex = getTaskNumber(input, "unmark", list) - 1;
+            timer.lap(CommandStats.Phase.DISPATCH);
+            Task unmarkedTask = list.unmark(unmarkIndex);
+            timer.lap(CommandStats.Phase.OPERATION);
             return "Reset. Try again when you’re ready:\n" + unmarkedTask;
         }
 
-        case DELETE: { // "delete <n>"
+        case DELETE: { // "delete <n>", or many as for mark
+            BitSet selected = getTaskSelection(input, "delete", list);
+            if (selected != null) {
+                timer.lap(CommandStats.Phase.DISPATCH);
+                List<Task> removedTasks = list.removeAll(selected);
+                timer.lap(CommandStats.Phase.OPERATION);
+                return "Deleted " + countOf(removedTasks) + " — gone faster than a Sage wall:"
+                        + summaryOf(removedTasks)
+                        + "\nNow you have " + list.size() + (list.size() == 1 ? " task" : " tasks") + " in the list.";
+            }
             int sizeBeforeDelete = list.size();
             int taskNumber = getTaskNumber(input, "delete", list);
+            timer.lap(CommandStats.Phase.DISPATCH);
             Task removedTask = list.remove(taskNumber - 1);
+            timer.lap(CommandStats.Phase.OPERATION);
             assert list.size() == sizeBeforeDelete - 1 : "size must decrease by 1 after deleting a task";
             return "Deleted — gone faster than a Sage wall:\n"
                     + removedTask
@@ -104,13 +205,15 @@ public final class Parser {
             if (input.length() < 5) {
                 throw new JettException("Fill in the description of your todo (e.g. todo read book)");
             }
-            String todoDesc = input.substring(5).trim();
+            String todoDesc = trimmed(input, 5, input.length());
             if (todoDesc.isEmpty()) {
                 throw new JettException("Fill in the description of your todo (e.g. todo read book)");
             }
             int sizeBeforeTodo = list.size();
             Task todoTask = new Todo(todoDesc);
+            timer.lap(CommandStats.Phase.DISPATCH);
             list.add(todoTask);
+            timer.lap(CommandStats.Phase.OPERATION);
             assert list.size() == sizeBeforeTodo + 1 : "size must increase by 1 after adding a task";
             return "Easy. Dropped it in your list:\n"
                     + todoTask
@@ -123,12 +226,12 @@ public final class Parser {
                         "Fill in the description of your deadline (e.g. deadline complete report /by Sep 6 2025)"
                 );
             }
-            String[] parsed = input.substring(9).split("/by\\s+", 2); // allow flexible whitespace after /by
-            if (parsed.length < 2) {
+            int byAt = indexOfMarker(input, "/by", 9); // allow flexible whitespace after /by
+            if (byAt < 0) {
                 throw new JettException("Missing '/by'. (e.g. deadline complete report /by Sep 6 2025)");
             }
-            String deadlineDesc = parsed[0].trim();
-            String by = parsed[1].trim();
+            String deadlineDesc = trimmed(input, 9, byAt);
+            String by = trimmed(input, byAt + 3, input.length());
             if (deadlineDesc.isEmpty() || by.isEmpty()) {
                 throw new JettException(
                         "Fill in the description and time of your deadline (e.g. deadline do report /by Sep 6 2025)"
@@ -137,7 +240,9 @@ public final class Parser {
             int sizeBeforeDeadline = list.size();
             try {
                 Task deadlineTask = new Deadline(deadlineDesc, by);
+                timer.lap(CommandStats.Phase.DISPATCH);
                 list.add(deadlineTask);
+                timer.lap(CommandStats.Phase.OPERATION);
             } catch (IllegalArgumentException e) {
                 throw new JettException("Use valid date format, e.g. 2025-09-06, 6/9/2025, Sep 6 2025");
             }
@@ -154,17 +259,17 @@ public final class Parser {
                         "Fill in the description of your event (e.g. event camp /from Sep 6 2025 /to Sep 7 2025)"
                 );
             }
-            String[] parsedFrom = input.substring(6).split("/from\\s+", 2); // allow flexible whitespace
-            if (parsedFrom.length < 2) {
+            int fromAt = indexOfMarker(input, "/from", 6); // allow flexible whitespace
+            if (fromAt < 0) {
                 throw new JettException("Missing '/from'. (e.g. event camp /from Sep 6 2025 /to Sep 7 2025)");
             }
-            String eventDesc = parsedFrom[0].trim();
-            String[] parsedTo = parsedFrom[1].trim().split("/to\\s+", 2); // allow flexible whitespace
-            if (parsedTo.length < 2) {
+            String eventDesc = trimmed(input, 6, fromAt);
+            int toAt = indexOfMarker(input, "/to", fromAt + 5); // allow flexible whitespace
+            if (toAt < 0) {
                 throw new JettException("Missing '/to'. (e.g. event camp /from Sep 6 2025 /to Sep 7 2025)");
             }
-            String from = parsedTo[0].trim();
-            String to = parsedTo[1].trim();
+            String from = trimmed(input, fromAt + 5, toAt);
+            String to = trimmed(input, toAt + 3, input.length());
             if (eventDesc.isEmpty() || from.isEmpty() || to.isEmpty()) {
                 throw new JettException(
                         "Fill in the description, start and end date (e.g. event camp /from Sep 6 2025 /to Sep 7 2025)"
@@ -173,7 +278,9 @@ public final class Parser {
             int sizeBeforeEvent = list.size();
             try {
                 Task newTask = new Event(eventDesc, from, to);
+                timer.lap(CommandStats.Phase.DISPATCH);
                 list.add(newTask);
+                timer.lap(CommandStats.Phase.OPERATION);
             } catch (IllegalArgumentException e) {
                 throw new JettException("Use valid date format, e.g. 2025-09-06, 6/9/2025, Sep 6 2025");
             }
@@ -188,13 +295,17 @@ public final class Parser {
             if (input.length() < 5) {
                 throw new JettException("Provide a keyword (e.g. find book)");
             }
-            String keyword = input.substring(5).trim();
+            String keyword = trimmed(input, 5, input.length());
             if (keyword.isEmpty()) {
                 throw new JettException("Provide a keyword (e.g. find book)");
             }
+            timer.lap(CommandStats.Phase.DISPATCH);
             return list.findString(keyword);
         }
 
+        case STATS:
+            return timer.report();
+
         case BYE:
             return "I’m out. Keep your crosshair steady.";
 
@@ -202,32 +313,313 @@ public final class Parser {
         default:
             throw new JettException("""
                     That command whiffed. Try one of these:
-                    1. list /<filter> (alphabetical / date / type)
+                    1. list /<filter> (alphabetical / date / type) --page <n> --size <m>
                     2. todo <description>
                     3. deadline <description> /by <date>
                     4. event <description> /from <start date> /to <end date>
-                    5. mark <task number>
-                    6. unmark <task number>
-                    7. delete <task number>
+                    5. mark <task number> (or e.g. 3-5,8 / all / /done)
+                    6. unmark <task number> (or e.g. 3-5,8 / all / /done)
+                    7. delete <task number> (or e.g. 3-5,8 / all / /done)
                     8. find <keyword>
-                    9. bye""");
+                    9. stats
+                    10. bye""");
+        }
+    }
+
+    /**
+     * Handles the arguments of {@code list}: an optional sort modifier, and optional {@code --page <n>}
+     * and {@code --size <m>} flags in any order. Without either flag the whole list is shown.
+     */
+    private static String listTasks(String input, TaskList list) throws JettException {
+        TaskList.SortOrder order = null;
+        int page = 0;
+        int size = 0;
+        int end = input.length();
+        int at = trimmedStart(input, 4, end);
+        while (at < end) {
+            int wordEnd = wordEnd(input, at, end);
+            if (isWord(input, at, wordEnd, "--page") && page == 0) {
+                at = skipSpaces(input, wordEnd, end);
+                wordEnd = wordEnd(input, at, end);
+                page = getPageNumber(input, at, wordEnd);
+            } else if (isWord(input, at, wordEnd, "--size") && size == 0) {
+                at = skipSpaces(input, wordEnd, end);
+                wordEnd = wordEnd(input, at, end);
+                size = getPageNumber(input, at, wordEnd);
+            } else if (order == null && isWord(input, at, wordEnd, "/alphabetical")) {
+                order = TaskList.SortOrder.ALPHABETICAL;
+            } else if (order == null && isWord(input, at, wordEnd, "/date")) {
+                order = TaskList.SortOrder.DATE;
+            } else if (order == null && isWord(input, at, wordEnd, "/type")) {
+                order = TaskList.SortOrder.TYPE;
+            } else {
+                throw new JettException(
+                        "Unknown modifier for 'list'. Use 'list', 'list /alphabetical', 'list /date' or 'list /type'.");
+            }
+            at = skipSpaces(input, wordEnd, end);
+        }
+
+        if (page == 0 && size == 0) {
+            if (order == null) {
+                return list.listString();
+            }
+            return switch (order) {
+            case ALPHABETICAL -> list.listSortedByAlphabetical();
+            case DATE -> list.listSortedByDate();
+            case TYPE -> list.listSortedByType();
+            };
+        }
+        page = Math.max(page, 1);
+        size = size == 0 ? TaskList.DEFAULT_PAGE_SIZE : size;
+        int pages = list.pageCount(size);
+        if (pages > 0 && page > pages) {
+            throw new JettException("There " + (pages == 1 ? "is only 1 page" : "are only " + pages + " pages")
+                    + " of " + size + " tasks.");
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            if (order == null) {
+                list.appendPage(sb, page, size);
+            } else {
+                list.appendSortedPage(sb, order, page, size);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
         }
+        return sb.toString();
     }
 
-    private static int getTaskNumber(String userInput, String action, TaskList list) throws JettException {
+    /**
+     * Reads the page or size number {@code s[from, to)}: 1 to 9 digits, not all zeros.
+     */
+    private static int getPageNumber(String s, int from, int to) throws JettException {
+        int value = number(s, from, to);
+        if (value <= 0) {
+            throw new JettException("Page and size must be positive numbers (e.g. list --page 2 --size 50)");
+        }
+        return value;
+    }
+
+    /**
+     * Reads a selection of several tasks from the second word of a {@code mark}, {@code unmark} or
+     * {@code delete} command: {@code all}, {@code /done}, or comma-separated task numbers and ranges
+     * such as {@code 3-40,55,60-} (an open range runs to the end of the list).
+     *
+     * @return the selected 0-based indices, or {@code null} if the word names a single task (or nothing)
+     * @throws JettException if the selection is malformed, names a task that does not exist, or matches nothing
+     */
+    private static BitSet getTaskSelection(String input, String action, TaskList list) throws JettException {
+        int end = input.length();
+        int from = skipSpaces(input, wordEnd(input, 0, end), end);
+        int to = wordEnd(input, from, end);
+        BitSet selected = new BitSet(list.size());
+        if (isWord(input, from, to, "all")) {
+            selected.set(0, list.size());
+        } else if (isWord(input, from, to, "/done")) {
+            for (int i = 0; i < list.size(); i++) {
+                selected.set(i, list.get(i).isDone());
+            }
+        } else if (from < to && isDigit(input.charAt(from)) && isRangeList(input, from, to)) {
+            selectRanges(input, from, to, action, list, selected);
+        } else {
+            return null;
+        }
+        if (selected.isEmpty()) {
+            throw new JettException("No tasks match '" + input.substring(from, to) + "'.");
+        }
+        return selected;
+    }
+
+    private static boolean isRangeList(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == ',' || s.charAt(i) == '-') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the indices named by {@code s[from, to)}, a comma-separated list of {@code n}, {@code a-b} and
+     * {@code a-} items, in {@code selected}.
+     */
+    private static void selectRanges(String s, int from, int to, String action, TaskList list, BitSet selected)
+            throws JettException {
+        int at = from;
+        while (at <= to) {
+            int itemEnd = at;
+            while (itemEnd < to && s.charAt(itemEnd) != ',') {
+                itemEnd++;
+            }
+            int dash = at;
+            while (dash < itemEnd && s.charAt(dash) != '-') {
+                dash++;
+            }
+            int first = number(s, at, dash);
+            int last = first;
+            if (dash + 1 == itemEnd) {
+                last = list.size(); // open range
+            } else if (dash < itemEnd) {
+                last = number(s, dash + 1, itemEnd);
+            }
+            if (first <= 0 || last < first) {
+                throw new JettException("Key in valid task numbers or ranges (e.g. " + action + " 3-5,8 or "
+                        + action + " all)");
+            }
+            if (Math.max(first, last) > list.size()) {
+                int missing = first > list.size() ? first : last;
+                throw new JettException("I can't find task " + missing + ". Use 'list' to see valid task numbers.");
+            }
+            selected.set(first - 1, last);
+            at = itemEnd + 1;
+        }
+    }
+
+    /**
+     * Returns the value of the 1 to 9 digits {@code s[from, to)}, or {@code -1}.
+     */
+    private static int number(String s, int from, int to) {
+        return to - from <= 9 ? digits(s, from, to) : -1;
+    }
+
+    /**
+     * Returns e.g. {@code "3 tasks"}.
+     */
+    private static String countOf(List<Task> tasks) {
+        return tasks.size() + (tasks.size() == 1 ? " task" : " tasks");
+    }
+
+    /**
+     * Lists the first few of {@code tasks}, one per line, each line starting with a newline.
+     */
+    private static String summaryOf(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        int shown = Math.min(tasks.size(), MAX_TASKS_SHOWN);
+        for (int i = 0; i < shown; i++) {
+            sb.append('\n');
+            tasks.get(i).appendTo(sb);
+        }
+        if (tasks.size() > shown) {
+            sb.append("\n...and ").append(tasks.size() - shown).append(" more");
+        }
+        return sb.toString();
+    }
+
+    private static int getTaskNumber(String input, String action, TaskList list) throws JettException {
         // accept extra spaces and ignore trailing tokens
-        String[] parts = userInput.trim().split("\\s+", 3);
-        if (parts.length < 2) {
+        int end = input.length();
+        int commandEnd = wordEnd(input, 0, end);
+        if (commandEnd == end) {
             throw new JettException("Specify a task number (e.g. " + action + " 2)");
         }
-        String number = parts[1];
-        if (!number.matches("\\d+") || number.matches("0+")) { // must be positive integer
+        int from = skipSpaces(input, commandEnd, end);
+        int to = wordEnd(input, from, end);
+        long number = 0;
+        for (int i = from; i < to && number >= 0; i++) {
+            char c = input.charAt(i);
+            boolean isDigit = c >= '0' && c <= '9';
+            number = !isDigit ? -1 : Math.min(number * 10 + (c - '0'), Integer.MAX_VALUE + 1L);
+        }
+        if (number <= 0) { // must be positive integer
             throw new JettException("Key in a valid task number (e.g. " + action + " 2)");
         }
-        int taskNumber = Integer.parseInt(number);
-        if (taskNumber < 1 || taskNumber > list.size()) {
+        if (number > Integer.MAX_VALUE) {
+            Integer.parseInt(input.substring(from, to)); // throws, as it always has for numbers this large
+        }
+        int taskNumber = (int) number;
+        if (taskNumber > list.size()) {
             throw new JettException("I can't find task " + taskNumber + ". Use 'list' to see valid task numbers.");
         }
         return taskNumber;
     }
+
+    // Lexing helpers. Words are separated by the same whitespace as the regex \s (space, tab, line feed,
+    // vertical tab, form feed, carriage return). Slices are trimmed like String.trim(), so only text kept in a
+    // task is ever copied.
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static int skipSpaces(String s, int from, int end) {
+        while (from < end && isSpace(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int wordEnd(String s, int from, int end) {
+        while (from < end && !isSpace(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimmedStart(String s, int from, int end) {
+        while (from < end && s.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimmedEnd(String s, int from, int end) {
+        while (end > from && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns {@code s[from, to)} with the same characters removed as {@link String#trim()}.
+     */
+    private static String trimmed(String s, int from, int to) {
+        int start = trimmedStart(s, from, to);
+        return s.substring(start, trimmedEnd(s, start, to));
+    }
+
+    /**
+     * Returns whether {@code s[from, to)} is {@code word}, ignoring case like {@link String#equalsIgnoreCase}.
+     */
+    private static boolean isWord(String s, int from, int to, String word) {
+        return to - from == word.length() && s.regionMatches(true, from, word, 0, word.length());
+    }
+
+    /**
+     * Returns where the first {@code marker} at or after {@code from} that is followed by whitespace starts,
+     * or {@code -1}.
+     */
+    private static int indexOfMarker(String s, String marker, int from) {
+        int at = s.indexOf(marker, from);
+        while (at >= 0) {
+            int after = at + marker.length();
+            if (after < s.length() && isSpace(s.charAt(after))) {
+                return at;
+            }
+            at = s.indexOf(marker, at + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of the ASCII digits {@code s[from, to)}, or {@code -1} if there are none or any
+     * character is not one. At most 9 digits, so the value fits an {@code int}.
+     */
+    private static int digits(String s, int from, int to) {
+        if (from == to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
 }
@@ -0,0 +1,103 @@
+package jett;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing of each phase of saving, so the cost of {@code fsync} and renames can be seen on a given disk.
+ * Safe to update from the saving thread and the journal compactor while being read elsewhere.
+ */
+public final class SaveMetrics {
+
+    private final EnumMap<Phase, PhaseStats> stats = new EnumMap<>(Phase.class);
+
+    /**
+     * Phases of a save, in the order they happen.
+     */
+    public enum Phase {
+        /** Capturing the list in memory while it is locked. */
+        PREPARE,
+        /** Writing bytes to the temp file or journal. */
+        WRITE,
+        /** Forcing the written bytes (and metadata, if configured) to the device. */
+        FSYNC,
+        /** Renaming the temp file over the data file, and syncing the directory if configured. */
+        RENAME
+    }
+
+    SaveMetrics() {
+        for (Phase p : Phase.values()) {
+            stats.put(p, new PhaseStats());
+        }
+    }
+
+    /**
+     * Records one occurrence of {@code phase} that took {@code nanos}.
+     *
+     * @param phase the phase that finished
+     * @param nanos how long it took, in nanoseconds
+     */
+    void record(Phase phase, long nanos) {
+        PhaseStats s = stats.get(phase);
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        s.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Returns how many times {@code phase} ran.
+     *
+     * @param phase the phase to query
+     * @return the number of recorded occurrences
+     */
+    public long getCount(Phase phase) {
+        return stats.get(phase).count.sum();
+    }
+
+    /**
+     * Returns the total time spent in {@code phase}.
+     *
+     * @param phase the phase to query
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanos(Phase phase) {
+        return stats.get(phase).totalNanos.sum();
+    }
+
+    /**
+     * Returns the longest single occurrence of {@code phase}.
+     *
+     * @param phase the phase to query
+     * @return the maximum time in nanoseconds
+     */
+    public long getMaxNanos(Phase phase) {
+        return stats.get(phase).maxNanos.get();
+    }
+
+    /**
+     * Returns one line per phase with its count, mean and maximum time in microseconds.
+     *
+     * @return a human-readable summary
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase p : Phase.values()) {
+            long count = getCount(p);
+            double mean = count == 0 ? 0 : getTotalNanos(p) / 1000.0 / count;
+            if (sb.length() > 0) {
+                sb.append("\n");
+            }
+            sb.append(String.format(Locale.ROOT, "%s: n=%d mean=%.1fus max=%.1fus",
+                    p.name().toLowerCase(Locale.ROOT), count, mean, getMaxNanos(p) / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    private static final class PhaseStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
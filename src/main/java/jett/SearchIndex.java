@@ -0,0 +1,266 @@
+package jett;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Index over task descriptions that answers {@link TaskList#findString(String)} without scanning every task.
+ * <p>
+ * Descriptions are folded with {@code toLowerCase(Locale.ROOT)} once, when a task is added. Two posting maps
+ * point from the folded text back to tasks:
+ * </p>
+ * <ul>
+ *   <li>a trigram index (every 3-character window, spaces and punctuation included), used for keywords of
+ *   3 or more characters: only tasks sharing the keyword's rarest trigram are checked;</li>
+ *   <li>a token index (maximal runs of letters and digits), used for 1- and 2-character keywords made of
+ *   letters and digits, which can only ever match inside a single token.</li>
+ * </ul>
+ * Candidates are always confirmed with {@code contains}, so matches are exactly those of a full scan.
+ * Tasks are only ever appended to a {@link TaskList}, so posting lists kept in insertion order are
+ * also in list order.
+ */
+final class SearchIndex {
+
+    private final ArrayList<Entry> entries = new ArrayList<>();
+    private final HashMap<Long, ArrayList<Entry>> trigrams = new HashMap<>();
+    private final HashMap<String, ArrayList<Entry>> tokens = new HashMap<>();
+    private long nextSeq;
+
+    /**
+     * Creates an index over {@code tasks}, in list order.
+     *
+     * @param tasks the tasks to index
+     */
+    SearchIndex(List<Task> tasks) {
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /**
+     * Indexes a task appended to the end of the list.
+     *
+     * @param t the task that was added
+     */
+    void add(Task t) {
+        Entry e = new Entry(t, t.getDescription().toLowerCase(Locale.ROOT), nextSeq++);
+        entries.add(e);
+        String folded = e.folded;
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            addPosting(trigrams, trigram(folded, i), e);
+        }
+        forEachToken(folded, token -> addPosting(tokens, token, e));
+    }
+
+    /**
+     * Drops the task at {@code index} from the index.
+     *
+     * @param index the 0-based position the task was removed from
+     */
+    void remove(int index) {
+        Entry e = entries.remove(index);
+        String folded = e.folded;
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            removePosting(trigrams, trigram(folded, i), e);
+        }
+        forEachToken(folded, token -> removePosting(tokens, token, e));
+    }
+
+    /**
+     * Drops every task whose list index is set in {@code indices}. Each affected posting list is compacted
+     * once, however many of its tasks go.
+     *
+     * @param indices the 0-based positions the tasks were removed from
+     */
+    void removeAll(BitSet indices) {
+        HashSet<Long> touchedTrigrams = new HashSet<>();
+        HashSet<String> touchedTokens = new HashSet<>();
+        int kept = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry e = entries.get(i);
+            if (!indices.get(i)) {
+                entries.set(kept++, e);
+                continue;
+            }
+            e.isRemoved = true;
+            for (int j = 0; j + 3 <= e.folded.length(); j++) {
+                touchedTrigrams.add(trigram(e.folded, j));
+            }
+            forEachToken(e.folded, touchedTokens::add);
+        }
+        entries.subList(kept, entries.size()).clear();
+        for (Long key : touchedTrigrams) {
+            removeRemoved(trigrams, key);
+        }
+        for (String key : touchedTokens) {
+            removeRemoved(tokens, key);
+        }
+    }
+
+    /**
+     * Returns the tasks whose folded description contains {@code keyword}, in list order.
+     *
+     * @param keyword the already lower-cased keyword
+     * @return the matching tasks
+     */
+    List<Task> find(String keyword) {
+        List<Entry> candidates;
+        if (keyword.length() >= 3) {
+            candidates = rarestTrigramPostings(keyword);
+        } else if (!keyword.isEmpty() && isTokenOnly(keyword) && tokens.size() * 4L < entries.size()) {
+            candidates = tokenPostings(keyword);
+        } else {
+            candidates = entries;
+        }
+
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Entry e : candidates) {
+            if (e.folded.contains(keyword)) {
+                matches.add(e.task);
+            }
+        }
+        return matches;
+    }
+
+    private List<Entry> rarestTrigramPostings(String keyword) {
+        List<Entry> rarest = null;
+        for (int i = 0; i + 3 <= keyword.length(); i++) {
+            List<Entry> postings = trigrams.get(trigram(keyword, i));
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Collects the tasks of every token containing {@code keyword}. Only used while the vocabulary is much
+     * smaller than the list; a task appears once even if several of its tokens match.
+     */
+    private List<Entry> tokenPostings(String keyword) {
+        HashSet<Entry> seen = new HashSet<>();
+        ArrayList<Entry> union = new ArrayList<>();
+        for (Map.Entry<String, ArrayList<Entry>> term : tokens.entrySet()) {
+            if (term.getKey().contains(keyword)) {
+                for (Entry e : term.getValue()) {
+                    if (seen.add(e)) {
+                        union.add(e);
+                    }
+                }
+            }
+        }
+        union.sort((a, b) -> Long.compare(a.seq, b.seq));
+        return union;
+    }
+
+    /**
+     * Appends {@code e} to the postings of {@code key}. Entries are added one at a time in sequence order,
+     * so a key repeated within one description is caught by checking the last posting.
+     */
+    private static <K> void addPosting(Map<K, ArrayList<Entry>> index, K key, Entry e) {
+        ArrayList<Entry> postings = index.computeIfAbsent(key, k -> new ArrayList<>(2));
+        if (postings.isEmpty() || postings.get(postings.size() - 1) != e) {
+            postings.add(e);
+        }
+    }
+
+    /**
+     * Removes {@code e} from the postings of {@code key}, if it is still there (a key repeated within one
+     * description is visited more than once).
+     */
+    private static <K> void removePosting(Map<K, ArrayList<Entry>> index, K key, Entry e) {
+        ArrayList<Entry> postings = index.get(key);
+        int at = postings == null ? -1 : indexOf(postings, e.seq);
+        if (at < 0) {
+            return;
+        }
+        postings.remove(at);
+        if (postings.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static <K> void removeRemoved(Map<K, ArrayList<Entry>> index, K key) {
+        ArrayList<Entry> postings = index.get(key);
+        postings.removeIf(e -> e.isRemoved);
+        if (postings.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Passes each maximal run of letters and digits in {@code folded} to {@code action}.
+     */
+    private static void forEachToken(String folded, Consumer<String> action) {
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean isTokenChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (isTokenChar && start < 0) {
+                start = i;
+            } else if (!isTokenChar && start >= 0) {
+                action.accept(folded.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Binary search by sequence number; posting lists are in ascending sequence order.
+     */
+    private static int indexOf(List<Entry> postings, long seq) {
+        int lo = 0;
+        int hi = postings.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midSeq = postings.get(mid).seq;
+            if (midSeq < seq) {
+                lo = mid + 1;
+            } else if (midSeq > seq) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static long trigram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+
+    private static boolean isTokenOnly(String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An indexed task with its folded description and its position in insertion order.
+     */
+    private static final class Entry {
+        private final Task task;
+        private final String folded;
+        private final long seq;
+        /** Set when the task is dropped by {@link SearchIndex#removeAll(BitSet)}, until its postings are compacted. */
+        private boolean isRemoved;
+
+        Entry(Task task, String folded, long seq) {
+            this.task = task;
+            this.folded = folded;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package jett;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A {@link TaskList} kept permanently sorted by one comparator, so sorted listings are a walk instead of
+ * a copy and sort.
+ * <p>
+ * Tasks are held in a red-black tree, so adding and removing cost {@code O(log n)} comparisons.
+ * Ties are broken by insertion order; tasks are only ever appended to a {@code TaskList}, so that is also
+ * list order and the view matches a stable sort of the list. None of the orders depend on whether a task
+ * is done, so marking and unmarking need no update.
+ * </p>
+ */
+final class SortedView implements Iterable<Task> {
+
+    private final ArrayList<Node> nodes = new ArrayList<>();
+    private final TreeSet<Node> sorted;
+    private long nextSeq;
+
+    /**
+     * Creates a view of {@code tasks} sorted by {@code order}.
+     *
+     * @param tasks the tasks in list order
+     * @param order the order of the view
+     */
+    SortedView(List<Task> tasks, Comparator<Task> order) {
+        Comparator<Node> byTask = (a, b) -> order.compare(a.task, b.task);
+        this.sorted = new TreeSet<>(byTask.thenComparingLong(n -> n.seq));
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /**
+     * Adds a task appended to the end of the list.
+     *
+     * @param t the task that was added
+     */
+    void add(Task t) {
+        Node n = new Node(t, nextSeq++);
+        nodes.add(n);
+        sorted.add(n);
+    }
+
+    /**
+     * Drops the task at {@code index} of the list from the view.
+     *
+     * @param index the 0-based position the task was removed from
+     */
+    void remove(int index) {
+        boolean isRemoved = sorted.remove(nodes.remove(index));
+        assert isRemoved : "Removed task missing from sorted view";
+    }
+
+    /**
+     * Drops every task whose list index is set in {@code indices}, in one pass over the list.
+     *
+     * @param indices the 0-based positions the tasks were removed from
+     */
+    void removeAll(BitSet indices) {
+        int kept = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            Node n = nodes.get(i);
+            if (indices.get(i)) {
+                boolean isRemoved = sorted.remove(n);
+                assert isRemoved : "Removed task missing from sorted view";
+            } else {
+                nodes.set(kept++, n);
+            }
+        }
+        nodes.subList(kept, nodes.size()).clear();
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        Iterator<Node> it = sorted.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                return it.next().task;
+            }
+        };
+    }
+
+    /**
+     * A task with its position in insertion order, which keeps equal tasks distinct in the tree.
+     */
+    private static final class Node {
+        private final Task task;
+        private final long seq;
+
+        Node(Task task, long seq) {
+            this.task = task;
+            this.seq = seq;
+        }
+    }
+}
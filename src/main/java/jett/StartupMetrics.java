@@ -0,0 +1,59 @@
+package jett;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * How long the GUI took to start, counted from the launch of the JVM: when the window appeared and the user
+ * could start typing (time to interactive), and when the tasks finished loading and commands started running.
+ * Safe to update from the FX thread and the loading thread while being read elsewhere.
+ */
+public final class StartupMetrics {
+    private volatile long shownMillis = -1;
+    private volatile long loadedMillis = -1;
+
+    /**
+     * Records that the window is showing and accepts input.
+     */
+    void markShown() {
+        shownMillis = uptimeMillis();
+    }
+
+    /**
+     * Records that the tasks have loaded.
+     */
+    void markLoaded() {
+        loadedMillis = uptimeMillis();
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Returns the time to interactive: milliseconds from JVM launch until the window accepted input.
+     *
+     * @return the time in milliseconds, or {@code -1} if the window has not been shown yet
+     */
+    public long getShownMillis() {
+        return shownMillis;
+    }
+
+    /**
+     * Returns the milliseconds from JVM launch until the tasks were loaded.
+     *
+     * @return the time in milliseconds, or {@code -1} if loading has not finished
+     */
+    public long getLoadedMillis() {
+        return loadedMillis;
+    }
+
+    /**
+     * Returns both times on one line, e.g. {@code startup: interactive=310ms loaded=1240ms}.
+     *
+     * @return a human-readable summary
+     */
+    public String summary() {
+        return String.format(Locale.ROOT, "startup: interactive=%dms loaded=%dms", shownMillis, loadedMillis);
+    }
+}
@@ -1,18 +1,96 @@
 package jett;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Handles persistent storage for the Jett application.
  * Reads tasks from a data file on startup and writes the current task list to disk.
  */
 public class Storage {
+    /** Journal size (in bytes) above which the journal is folded back into the snapshot. */
+    static final long DEFAULT_COMPACTION_THRESHOLD = 64 * 1024;
+    /** Deleted records an incremental data file may hold before it is rewritten, if they also outnumber live ones. */
+    static final int MIN_TOMBSTONES_TO_COMPACT = 256;
+
     private final String filePath;
+    private final Mode mode;
+    private final Path journalPath;
+    private final Path oldJournalPath;
+    private final Path compactPath;
+    private final SaveMetrics metrics = new SaveMetrics();
+    private volatile Durability durability = Durability.NONE;
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private volatile long journalBytes = -1;
+    private ExecutorService compactor;
+    private Future<?> pendingCompaction;
+    private BinaryFormat.Layout layout;
+    /** Whether an append failed, so the journal misses changes and the next save must compact instead. */
+    private volatile boolean isJournalStale;
+    /** The list {@link #layout} describes; {@code null} until a list is saved, see {@link #ownsLayout(TaskList)}. */
+    private TaskList layoutOwner;
+    /** The tasks {@link #getData()} returned along with {@link #layout}, until a list made from them is saved. */
+    private ArrayList<Task> loadedTasks;
+    /** Whether the data file exists but could not be read, in which case it is never saved over. */
+    private volatile boolean isLoadFailed;
+
+    /**
+     * How changes are written to disk.
+     */
+    public enum Mode {
+        /** Rewrites the whole data file on every save. */
+        SNAPSHOT,
+        /**
+         * Appends one record per change to {@code <file>.journal} and replays it on load.
+         * The journal is compacted into the data file in the background once it grows too large.
+         */
+        JOURNAL,
+        /**
+         * Rewrites the whole data file on every save in the compact {@link BinaryFormat}.
+         * A text data file found on load is migrated automatically (the original is kept as {@code <file>.bak}).
+         */
+        BINARY,
+        /**
+         * Keeps the data file in {@link BinaryFormat} and only touches the records that changed:
+         * adds are appended, and marks, unmarks and deletes rewrite a single flags byte in place.
+         * Deleted records stay behind as tombstones until they outnumber live ones and the file is rewritten.
+         * Only a list made from what {@link #getData()} returned, or the list saved last, can be saved
+         * incrementally; any other list is written whole on its first save.
+         */
+        INCREMENTAL
+    }
+
+    /**
+     * How hard a save tries to reach the physical disk before returning.
+     * Every whole-file save is written to a temp file and renamed over the data file,
+     * so a crash leaves either the old or the new file regardless of this level.
+     */
+    public enum Durability {
+        /** Leaves flushing to the operating system. */
+        NONE,
+        /** Forces file contents to the device before renaming ({@code FileChannel.force(false)}). */
+        DATA,
+        /** Also forces file metadata, and syncs the directory after renaming so the rename itself survives. */
+        METADATA
+    }
 
     /**
      * Creates a {@code Storage} bound to the given file path.
@@ -20,78 +98,643 @@ public class Storage {
      * @param filePath path to the data file (e.g., {@code data/Jett.txt})
      */
     public Storage(String filePath) {
+        this(filePath, Mode.SNAPSHOT);
+    }
+
+    /**
+     * Creates a {@code Storage} bound to the given file path using the given save mode.
+     *
+     * @param filePath path to the data file (e.g., {@code data/Jett.txt})
+     * @param mode     how changes are written to disk
+     */
+    public Storage(String filePath, Mode mode) {
         assert filePath != null && !filePath.isBlank() : "Storage path must be non-empty";
+        assert mode != null : "Storage mode must be non-null";
         this.filePath = filePath;
+        this.mode = mode;
+        this.journalPath = Path.of(filePath + ".journal");
+        this.oldJournalPath = Path.of(filePath + ".journal.old");
+        this.compactPath = Path.of(filePath + ".compact");
     }
 
     /**
-     * Writes the current {@link TaskList} to disk, creating parent directories if needed.
-     * Each task is written on its own line using the task's {@code toString()} format.
-     * Any {@link IOException} that occurs is reported to {@code System.out}.
+     * Sets the journal size (in bytes) above which a background compaction is started.
+     * Only relevant in {@link Mode#JOURNAL}.
+     *
+     * @param bytes the new threshold; must be positive
+     */
+    void setCompactionThreshold(long bytes) {
+        assert bytes > 0 : "Compaction threshold must be positive";
+        this.compactionThreshold = bytes;
+    }
+
+    /**
+     * Sets how hard saves try to reach the physical disk. Defaults to {@link Durability#NONE}.
+     *
+     * @param durability the durability level for subsequent saves
+     */
+    public void setDurability(Durability durability) {
+        assert durability != null : "Durability must be non-null";
+        this.durability = durability;
+    }
+
+    /**
+     * Returns the timing of each save phase so far.
+     *
+     * @return live save metrics for this storage
+     */
+    public SaveMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Persists the current {@link TaskList}, creating parent directories if needed.
+     * In {@link Mode#SNAPSHOT} each task is written on its own line using the task's {@code toString()} format.
+     * In {@link Mode#JOURNAL} only the changes made since the last save are appended to the journal.
+     * In {@link Mode#BINARY} the whole list is written in {@link BinaryFormat}.
+     * In {@link Mode#INCREMENTAL} only the records of changed tasks are written.
+     * Nothing is written if {@link #getData()} found a binary data file it could not read, so the file is left
+     * for a version of Jett that can.
+     * Any {@link IOException} that occurs is reported to {@code System.err}.
      *
      * @param list the list of tasks to persist
      */
     public void saveNow(TaskList list) {
         assert list != null : "Cannot save null TaskList";
         try {
-            File file = new File(filePath);
-            File parent = file.getParentFile();
-            if (parent != null && !parent.exists()) {
-                assert !parent.isFile() : "Parent path exists as a file, cannot create directory";
-                parent.mkdirs();
-                assert parent.exists() && parent.isDirectory() : "Failed to create parent directory";
-            }
-
-            try (FileWriter fw = new FileWriter(filePath)) {
-                for (int i = 0; i < list.size(); i++) {
-                    Task t = list.get(i);
-                    assert t != null : "TaskList must not contain null entries";
-                    fw.write(t.toString());
-                    fw.write(System.lineSeparator());
-                }
+            write(prepare(list));
+        } catch (IOException e) {
+            System.err.println("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Captures everything the next save has to write, without touching the data file.
+     * This is the only step that reads {@code list}; callers sharing the list with other threads
+     * must hold its lock while this runs, but not while the returned write runs.
+     *
+     * @param list the list of tasks to persist
+     * @return the write to perform, see {@link #write(PendingWrite)}
+     * @throws IOException if the list cannot be encoded
+     */
+    PendingWrite prepare(TaskList list) throws IOException {
+        assert list != null : "Cannot save null TaskList";
+        long start = System.nanoTime();
+        List<TaskList.Change> changes = list.drainChanges();
+        PendingWrite pending;
+        if (isLoadFailed) {
+            pending = () -> { };
+        } else if (mode == Mode.JOURNAL) {
+            pending = prepareJournal(list, changes);
+        } else if (mode == Mode.INCREMENTAL) {
+            pending = prepareIncremental(list, changes);
+        } else if (mode == Mode.BINARY) {
+            byte[] bytes = BinaryFormat.encode(list);
+            pending = () -> writeAtomically(Path.of(filePath), out -> out.write(bytes));
+        } else {
+            List<String> lines = snapshotLines(list);
+            pending = () -> writeAtomically(Path.of(filePath), textContent(lines));
+        }
+        metrics.record(SaveMetrics.Phase.PREPARE, System.nanoTime() - start);
+        return pending;
+    }
+
+    /**
+     * Performs a write captured by {@link #prepare(TaskList)}, creating parent directories if needed.
+     * Writes must be performed one at a time, in the order they were prepared.
+     *
+     * @param pending the write to perform
+     * @throws IOException if writing fails
+     */
+    void write(PendingWrite pending) throws IOException {
+        ensureParentExists();
+        pending.write();
+    }
+
+    /**
+     * Blocks until any background journal compaction has finished.
+     * Intended for tests and orderly shutdown.
+     */
+    void awaitCompaction() {
+        Future<?> pending;
+        synchronized (this) {
+            pending = pendingCompaction;
+        }
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (Exception e) {
+            System.err.println("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    private void ensureParentExists() {
+        File parent = new File(filePath).getParentFile();
+        if (parent != null && !parent.exists()) {
+            assert !parent.isFile() : "Parent path exists as a file, cannot create directory";
+            parent.mkdirs();
+            assert parent.exists() && parent.isDirectory() : "Failed to create parent directory";
+        }
+    }
+
+    private static List<String> snapshotLines(TaskList list) {
+        ArrayList<String> lines = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Task t = list.get(i);
+            assert t != null : "TaskList must not contain null entries";
+            lines.add(t.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Writes tasks one per line, in the platform charset the text loader reads them with.
+     */
+    private static Content textContent(List<String> lines) {
+        return out -> {
+            Charset charset = Charset.defaultCharset();
+            byte[] separator = System.lineSeparator().getBytes(charset);
+            for (String line : lines) {
+                out.write(line.getBytes(charset));
+                out.write(separator);
             }
-            assert file.exists() : "Data file should exist after save";
-            assert file.isFile() : "Data path should be a regular file after save";
+        };
+    }
+
+    /**
+     * Replaces {@code target} with {@code content} without ever leaving it half-written:
+     * the content goes to {@code <target>.tmp}, is forced to disk per the {@link Durability} level,
+     * and is then renamed over {@code target}.
+     */
+    private void writeAtomically(Path target, Content content) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        writeDurably(tmp, content);
+        long start = System.nanoTime();
+        moveReplacing(tmp, target);
+        syncDirectory(target);
+        metrics.record(SaveMetrics.Phase.RENAME, System.nanoTime() - start);
+        assert Files.isRegularFile(target) : "Data path should be a regular file after save";
+    }
+
+    /**
+     * Writes {@code content} to {@code file}, replacing it, and forces it to disk per the {@link Durability} level.
+     */
+    private void writeDurably(Path file, Content content) throws IOException {
+        long start = System.nanoTime();
+        try (FileOutputStream fos = new FileOutputStream(file.toFile())) {
+            OutputStream out = new BufferedOutputStream(fos, 64 * 1024);
+            content.writeTo(out);
+            out.flush();
+            long written = System.nanoTime();
+            metrics.record(SaveMetrics.Phase.WRITE, written - start);
+            force(fos.getChannel());
+        }
+    }
+
+    private void force(FileChannel channel) throws IOException {
+        Durability level = durability;
+        if (level == Durability.NONE) {
+            return;
+        }
+        long start = System.nanoTime();
+        channel.force(level == Durability.METADATA);
+        metrics.record(SaveMetrics.Phase.FSYNC, System.nanoTime() - start);
+    }
+
+    /**
+     * Makes a rename durable by syncing the parent directory, where the platform allows it.
+     */
+    private void syncDirectory(Path file) {
+        Path dir = file.toAbsolutePath().getParent();
+        if (durability != Durability.METADATA || dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            System.out.println("Something went wrong: " + e.getMessage());
+            // directories cannot be opened (or synced) on some platforms, e.g. Windows
+        }
+    }
+
+    /**
+     * Turns changes into journal records, e.g. {@code A [T][ ] read book}, {@code M 3} or {@code D 0}.
+     * A {@link TaskList.Change.Type#RESET}, or a previous append that failed, folds everything into the snapshot
+     * instead. If the journal
+     * will pass the threshold, the snapshot content is captured too so the write can start a compaction.
+     */
+    private PendingWrite prepareJournal(TaskList list, List<TaskList.Change> changes) throws IOException {
+        if (isJournalStale || (!changes.isEmpty() && changes.get(0).type() == TaskList.Change.Type.RESET)) {
+            List<String> lines = snapshotLines(list);
+            return () -> {
+                compactNow(lines);
+                isJournalStale = false;
+            };
+        }
+        if (changes.isEmpty()) {
+            return () -> { };
+        }
+        List<String> records = new ArrayList<>(changes.size());
+        long size = 0;
+        for (TaskList.Change c : changes) {
+            String record = toJournalRecord(c);
+            records.add(record);
+            size += record.length() + 1;
+        }
+        long recordBytes = size;
+        if (journalBytes < 0) {
+            journalBytes = Files.exists(journalPath) ? Files.size(journalPath) : 0;
+        }
+        List<String> compacted = journalBytes + recordBytes >= compactionThreshold ? snapshotLines(list) : null;
+        return () -> {
+            try {
+                appendToJournal(records);
+            } catch (IOException e) {
+                isJournalStale = true; // the drained changes are lost; later indices need them on disk first
+                throw e;
+            }
+            journalBytes += recordBytes;
+            if (compacted != null) {
+                startCompaction(compacted);
+            }
+        };
+    }
+
+    /**
+     * Turns changes into edits of the binary data file: an appended record per add, and a rewritten flags byte
+     * per mark, unmark or delete. The whole file is rewritten instead if the change log was reset, if the file's
+     * layout is unknown or belongs to another list, or if tombstones would outnumber live records.
+     */
+    private PendingWrite prepareIncremental(TaskList list, List<TaskList.Change> changes) throws IOException {
+        boolean isOwner = ownsLayout(list);
+        if (changes.isEmpty() && isOwner) {
+            return () -> { };
+        }
+        boolean isReset = !changes.isEmpty() && changes.get(0).type() == TaskList.Change.Type.RESET;
+        int deletes = 0;
+        for (TaskList.Change c : changes) {
+            if (c.type() == TaskList.Change.Type.DELETE) {
+                deletes++;
+            }
+        }
+        if (!isOwner || isReset || needsRewrite(layout.deadRecords() + deletes, list.size())) {
+            BinaryFormat.Layout rewritten = new BinaryFormat.Layout();
+            byte[] bytes = BinaryFormat.encode(list, rewritten);
+            return () -> {
+                try {
+                    writeAtomically(Path.of(filePath), out -> out.write(bytes));
+                } catch (IOException | RuntimeException e) {
+                    layout = null; // the drained changes are lost, so the old layout no longer matches the list
+                    throw e;
+                }
+                layout = rewritten;
+                layoutOwner = list;
+                loadedTasks = null;
+            };
+        }
+        List<RecordEdit> edits = new ArrayList<>(changes.size());
+        for (TaskList.Change c : changes) {
+            byte[] record = c.type() == TaskList.Change.Type.ADD ? BinaryFormat.encodeRecord(c.task()) : null;
+            edits.add(new RecordEdit(c, record));
+        }
+        return () -> applyEdits(edits);
+    }
+
+    /**
+     * Returns whether {@link #layout} describes the data file as {@code list} last saved it, or as loaded for it:
+     * its change indices then refer to the file's records. The first list saved after {@link #getData()} owns the
+     * layout if it was made from the loaded tasks.
+     */
+    private boolean ownsLayout(TaskList list) {
+        if (layout == null) {
+            return false;
+        }
+        if (layoutOwner == null && loadedTasks != null && list.isBackedBy(loadedTasks)) {
+            layoutOwner = list;
+            loadedTasks = null;
+        }
+        return layoutOwner == list;
+    }
+
+    private static boolean needsRewrite(int deadRecords, int liveRecords) {
+        return deadRecords >= MIN_TOMBSTONES_TO_COMPACT && deadRecords > liveRecords;
+    }
+
+    /**
+     * Applies edits to the data file in place and keeps {@link #layout} in step with it.
+     * If an edit fails, the layout is dropped so the next save rewrites the whole file.
+     */
+    private void applyEdits(List<RecordEdit> edits) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.WRITE)) {
+            for (RecordEdit edit : edits) {
+                int index = edit.change().index();
+                switch (edit.change().type()) {
+                case ADD:
+                    long end = layout.end();
+                    writeFully(channel, edit.record(), end);
+                    layout.addLive(end, end + edit.record().length);
+                    break;
+                case MARK:
+                    writeFlags(channel, index, BinaryFormat.flags(true));
+                    break;
+                case UNMARK:
+                    writeFlags(channel, index, BinaryFormat.flags(false));
+                    break;
+                case DELETE:
+                    writeFlags(channel, index, (byte) BinaryFormat.FLAG_DELETED);
+                    layout.delete(index);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected change " + edit.change().type());
+                }
+            }
+            metrics.record(SaveMetrics.Phase.WRITE, System.nanoTime() - start);
+            force(channel);
+        } catch (IOException | RuntimeException e) {
+            layout = null;
+            throw e;
+        }
+    }
+
+    private void writeFlags(FileChannel channel, int index, byte flags) throws IOException {
+        writeFully(channel, new byte[] {flags}, layout.offsetOf(index) + BinaryFormat.FLAGS_OFFSET);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        while (buf.hasRemaining()) {
+            channel.write(buf, position + buf.position());
+        }
+    }
+
+    private void appendToJournal(List<String> records) throws IOException {
+        long start = System.nanoTime();
+        try (FileOutputStream fos = new FileOutputStream(journalPath.toFile(), true)) {
+            OutputStream out = new BufferedOutputStream(fos);
+            for (String record : records) {
+                out.write(record.getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+            out.flush();
+            metrics.record(SaveMetrics.Phase.WRITE, System.nanoTime() - start);
+            force(fos.getChannel());
+        }
+    }
+
+    private static String toJournalRecord(TaskList.Change c) {
+        return switch (c.type()) {
+        case ADD -> "A " + c.task();
+        case MARK -> "M " + c.index();
+        case UNMARK -> "U " + c.index();
+        case DELETE -> "D " + c.index();
+        case RESET -> throw new IllegalArgumentException("RESET has no journal record");
+        };
+    }
+
+    /**
+     * Folds the journal into the snapshot synchronously.
+     * Used when the change log was reset and individual records are no longer available.
+     */
+    private synchronized void compactNow(List<String> lines) throws IOException {
+        awaitCompaction();
+        if (Files.exists(journalPath)) {
+            Files.move(journalPath, oldJournalPath);
+        }
+        foldJournal(lines);
+        journalBytes = 0;
+    }
+
+    /**
+     * Rotates the journal aside and folds it into the snapshot on a background thread.
+     * {@code lines} must match the journal exactly, i.e. be captured by the same {@link #prepare(TaskList)}
+     * that produced the journal's last records; later saves append to a fresh journal.
+     */
+    private synchronized void startCompaction(List<String> lines) throws IOException {
+        if ((pendingCompaction != null && !pendingCompaction.isDone()) || Files.exists(oldJournalPath)) {
+            return; // previous compaction still running (or failed); try again on a later save
+        }
+        Files.move(journalPath, oldJournalPath);
+        journalBytes = 0;
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "jett-journal-compactor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        pendingCompaction = compactor.submit(() -> {
+            try {
+                foldJournal(lines);
+            } catch (IOException e) {
+                System.err.println("Something went wrong: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Replaces the data file with {@code lines}, which must equal the data file plus {@code <file>.journal.old}.
+     * The compacted file is written to {@code <file>.compact} first and the rotated journal is deleted
+     * before the rename, so {@link #recover()} can always tell a finished compaction from an interrupted one.
+     */
+    private void foldJournal(List<String> lines) throws IOException {
+        writeDurably(compactPath, textContent(lines));
+        Files.deleteIfExists(oldJournalPath);
+        long start = System.nanoTime();
+        moveReplacing(compactPath, Path.of(filePath));
+        syncDirectory(compactPath);
+        metrics.record(SaveMetrics.Phase.RENAME, System.nanoTime() - start);
+    }
+
+    private static void moveReplacing(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Finishes or rolls back a compaction that was interrupted by a crash.
+     * A compacted file without a rotated journal is complete; with one, it may be partial.
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(compactPath)) {
+            return;
+        }
+        if (Files.exists(oldJournalPath)) {
+            Files.delete(compactPath);
+        } else {
+            moveReplacing(compactPath, Path.of(filePath));
+        }
+    }
+
+    /**
+     * Applies the records of a journal file on top of the loaded tasks.
+     * Records that are malformed or refer to missing indices are skipped, like malformed data lines.
+     * A last record without its line break was cut short by a crash, e.g. {@code M 12} cut to {@code M 1},
+     * so it is ignored.
+     *
+     * @return the length of the complete records, at which a torn record starts
+     */
+    private static long replayJournal(Path journal, ArrayList<Task> list) throws IOException {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(journal);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        String records = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        int from = 0;
+        for (int to = records.indexOf('\n'); to >= 0; from = to + 1, to = records.indexOf('\n', from)) {
+            applyJournalRecord(records.substring(from, to), list);
+        }
+        return end;
+    }
+
+    private static void applyJournalRecord(String record, ArrayList<Task> list) {
+        if (record.length() < 3 || record.charAt(1) != ' ') {
+            return;
+        }
+        String arg = record.substring(2).trim();
+        if (record.charAt(0) == 'A') {
+            Task t = parseLine(arg);
+            if (t != null) {
+                list.add(t);
+            }
+            return;
+        }
+        int index;
+        try {
+            index = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (index < 0 || index >= list.size()) {
+            return;
+        }
+        switch (record.charAt(0)) {
+        case 'M':
+            list.get(index).mark();
+            break;
+        case 'U':
+            list.get(index).unmark();
+            break;
+        case 'D':
+            list.remove(index);
+            break;
+        default:
+            break;
         }
     }
 
     /**
      * Loads tasks from the bound data file.
+     * In {@link Mode#JOURNAL}, the journal is replayed on top of the data file.
+     * In {@link Mode#BINARY} and {@link Mode#INCREMENTAL}, a text data file is loaded and immediately migrated
+     * to the binary format.
      * Lines that cannot be parsed are skipped safely.
      *
+     * If a binary data file cannot be read, e.g. because a newer version wrote it, later saves leave it untouched.
+     * In {@link Mode#INCREMENTAL}, a binary data file is cut off at its first damaged record, usually an append torn
+     * by a crash, so new records can follow the last valid one; the original is kept as {@code <file>.bak}.
+     *
      * @return an {@link ArrayList} of loaded {@link Task} objects; empty if the file does not exist
-     * @throws JettException reserved for signaling load failures to callers
+     * @throws JettException if a binary data file was written by an unsupported version or cannot be read
      */
     public ArrayList<Task> getData() throws JettException {
         ArrayList<Task> list = new ArrayList<>();
+        if (mode == Mode.JOURNAL) {
+            try {
+                recover();
+            } catch (IOException e) {
+                System.out.println("Could not load data");
+            }
+        }
         File f = new File(filePath);
-        if (!f.exists()) {
-            return list;
+        if (f.exists() && (mode == Mode.BINARY || mode == Mode.INCREMENTAL)) {
+            readBinary(f.toPath(), list);
+        } else if (f.exists()) {
+            readSnapshot(f, list);
         }
-
-        try (Scanner scanner = new Scanner(f)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine().trim();
-                if (line.isEmpty()) {
-                    continue;
+        if (mode == Mode.JOURNAL) {
+            try {
+                if (Files.exists(oldJournalPath)) { // left behind by an interrupted compaction
+                    replayJournal(oldJournalPath, list);
+                    foldJournal(snapshotLines(new TaskList(list)));
                 }
-                Task t = parseLine(line);
-                if (t != null) {
-                    list.add(t);
+                long complete = replayJournal(journalPath, list);
+                if (Files.exists(journalPath)) {
+                    truncateTo(journalPath, complete); // so the next record does not run on from the torn one
                 }
+            } catch (IOException e) {
+                System.out.println("Could not load data");
             }
-        } catch (FileNotFoundException e) {
-            System.out.println("File not found");
-        } catch (Exception e) {
-            System.out.println("Could not load data");
         }
 
         assert list != null : "getData must not return null";
         return list;
     }
 
+    private void readBinary(Path file, ArrayList<Task> list) throws JettException {
+        BinaryFormat.Layout loaded = new BinaryFormat.Layout();
+        try {
+            if (BinaryFormat.isBinary(file)) {
+                BinaryFormat.read(file, list, loaded);
+                if (mode == Mode.INCREMENTAL && Files.size(file) > loaded.end()) {
+                    // drop a torn append so new records follow the last valid one, keeping the original in case
+                    // the damage was in the middle and valid records follow it
+                    Path backup = Path.of(filePath + ".bak");
+                    Files.copy(file, backup, StandardCopyOption.REPLACE_EXISTING);
+                    truncateTo(file, loaded.end());
+                    System.out.println("Some tasks could not be loaded; the original file is kept as " + backup);
+                }
+                layout = loaded;
+                layoutOwner = null;
+                loadedTasks = list;
+                return;
+            }
+        } catch (JettException e) {
+            isLoadFailed = true;
+            throw e;
+        } catch (IOException e) {
+            isLoadFailed = true;
+            throw new JettException("Cannot read " + file.getFileName() + ": " + e.getMessage());
+        }
+        try {
+            readSnapshot(file.toFile(), list);
+            Files.copy(file, Path.of(filePath + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+            byte[] bytes = BinaryFormat.encode(new TaskList(list), loaded);
+            writeAtomically(file, out -> out.write(bytes));
+            layout = loaded;
+            layoutOwner = null;
+            loadedTasks = list;
+        } catch (IOException e) {
+            System.out.println("Could not load data");
+        }
+    }
+
+    private static void truncateTo(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+        }
+    }
+
+    private static void readSnapshot(File f, ArrayList<Task> list) {
+        try {
+            MappedLoader.load(f.toPath(), list);
+        } catch (NoSuchFileException e) {
+            System.out.println("File not found");
+        } catch (Exception e) {
+            System.out.println("Could not load data");
+        }
+    }
+
     /**
      * Parses a single serialised task line into a {@link Task}.
      * Expected formats are those produced by {@code Task.toString()}.
@@ -132,6 +775,18 @@ public class Storage {
         String rest = line.substring(secondClose + 1).trim();
         assert !rest.startsWith("]") : "Text content should follow status brackets";
 
+        return parseTask(taskType, isMarked, rest);
+    }
+
+    /**
+     * Builds a task from the parts of a serialised line that follow the {@code [T][X]} prefix.
+     *
+     * @param taskType the kind character ({@code 'T'}, {@code 'D'} or {@code 'E'})
+     * @param isMarked whether the status character was {@code 'X'}
+     * @param rest     the trimmed text after the status brackets
+     * @return a {@link Task} instance, or {@code null} if unparseable
+     */
+    static Task parseTask(char taskType, boolean isMarked, String rest) {
         Task t;
         switch (taskType) {
         case 'T': {
@@ -211,4 +866,26 @@ public class Storage {
         String datesInParentheses = rest.substring(open + 1, close).trim();
         return new String[] { description, datesInParentheses };
     }
+
+    /**
+     * A save captured by {@link #prepare(TaskList)} that has not been written to disk yet.
+     */
+    @FunctionalInterface
+    interface PendingWrite {
+        void write() throws IOException;
+    }
+
+    /**
+     * One change to apply to an incremental data file, with the encoded record if it is an add.
+     */
+    private record RecordEdit(TaskList.Change change, byte[] record) {
+    }
+
+    /**
+     * Bytes to be written to a file, produced outside any lock on the task list.
+     */
+    @FunctionalInterface
+    private interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
@@ -1,6 +1,7 @@
 package jett;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -10,7 +11,12 @@ import java.util.Optional;
  * such as {@link Todo}, {@link Deadline}, and {@link Event}.
  */
 public abstract class Task {
+    /** Epoch day used for sorting tasks without a date, matching {@code sortDate().orElse(LocalDate.MAX)}. */
+    static final long NO_SORT_DAY = LocalDate.MAX.toEpochDay();
+
     private final String description;
+    private final String sortKey;
+    private final long sortEpochDay;
     private boolean isDone;
 
     /**
@@ -26,13 +32,40 @@ public abstract class Task {
      * @throws IllegalArgumentException if {@code description} is null or blank
      */
     protected Task(String description) {
+        this(description, null);
+    }
+
+    /**
+     * Creates a new {@code Task} with the given description and the date it sorts by.
+     * The sort keys are computed once here so that comparators never allocate.
+     *
+     * @param description the textual description of the task
+     * @param sortDate    the date returned by {@link #sortDate()}, or {@code null} if none
+     * @throws IllegalArgumentException if {@code description} is null or blank
+     */
+    protected Task(String description, LocalDate sortDate) {
         if (description == null || description.isBlank()) {
             throw new IllegalArgumentException("description must be non-blank");
         }
         this.description = description;
+        this.sortKey = description.toLowerCase(Locale.ROOT);
+        this.sortEpochDay = sortDate == null ? NO_SORT_DAY : sortDate.toEpochDay();
         this.isDone = false;
     }
 
+    /**
+     * Creates a copy of {@code other} whose done state is {@code isDone}, sharing its cached sort keys.
+     *
+     * @param other  the task to copy
+     * @param isDone whether the copy is done
+     */
+    protected Task(Task other, boolean isDone) {
+        this.description = other.description;
+        this.sortKey = other.sortKey;
+        this.sortEpochDay = other.sortEpochDay;
+        this.isDone = isDone;
+    }
+
     /**
      * Returns the status icon for this task.
      *
@@ -57,6 +90,15 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Returns a copy of this task whose done state is {@code isDone}, leaving this task unchanged.
+     * Used where a task may already be visible to other threads and so must not change.
+     *
+     * @param isDone whether the copy is done
+     * @return the copy
+     */
+    abstract Task withDone(boolean isDone);
+
     /**
      * Returns the description of this task.
      *
@@ -66,6 +108,24 @@ public abstract class Task {
         return this.description;
     }
 
+    /**
+     * Returns the description folded with {@code toLowerCase(Locale.ROOT)}, for case-insensitive ordering.
+     *
+     * @return the folded description
+     */
+    String sortKey() {
+        return sortKey;
+    }
+
+    /**
+     * Returns {@link #sortDate()} as an epoch day, or {@link #NO_SORT_DAY} if there is none.
+     *
+     * @return the sort date as an epoch day
+     */
+    long sortEpochDay() {
+        return sortEpochDay;
+    }
+
     /**
      * Identifies the kind of this task.
      * Subclasses must return their specific {@link TaskKind}.
@@ -87,13 +147,24 @@ public abstract class Task {
     }
 
     /**
-     * Returns a string representation of this task,
-     * showing its status icon and description.
+     * Appends the string representation of this task to {@code sb} without building intermediate strings.
+     * The base form shows the status icon and description; subclasses add their type and dates around it.
+     *
+     * @param sb the builder to append to
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append('[').append(getStatusIcon()).append("] ").append(description);
+    }
+
+    /**
+     * Returns a string representation of this task, as written by {@link #appendTo(StringBuilder)}.
      *
      * @return formatted string of the task
      */
     @Override
     public String toString() {
-        return "[" + this.getStatusIcon() + "] " + this.description;
+        StringBuilder sb = new StringBuilder(description.length() + 48);
+        appendTo(sb);
+        return sb.toString();
     }
 }
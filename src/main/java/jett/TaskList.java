@@ -1,9 +1,12 @@
 package jett;
 
-import java.time.LocalDate;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.Locale;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,32 +15,32 @@ import java.util.Objects;
  */
 public class TaskList {
 
-    private static final Comparator<Task> alphabeticalOrder =
-            Comparator.comparing(t -> t.getDescription().toLowerCase(Locale.ROOT));
+    /** Compares the folded descriptions cached in each task, so no string is lowercased while sorting. */
+    private static final Comparator<Task> alphabeticalOrder = (a, b) -> a.sortKey().compareTo(b.sortKey());
 
-    /**
-     * Date-ordered view with rules:
-     * 1) Todos appear before non-Todos.
-     * 2) Among dated tasks, earlier dates come first (missing -> LocalDate.MAX).
-     * 3) If same date and kinds differ, DEADLINE precedes EVENT.
-     * 4) If same date and kind, alphabetical.
-     */
-    private static final Comparator<Task> dateOrder =
-            Comparator
-                    // 1) TODOs first
-                    .comparingInt((Task t) -> t.kind() == Task.TaskKind.TODO ? 0 : 1)
-                    // 2) by date value; Todos have no date -> MAX, so they won't reorder among themselves here
-                    .thenComparing(t -> t.sortDate().orElse(LocalDate.MAX))
-                    // 3) DEADLINE before EVENT when dates tie (enum order: TODO, DEADLINE, EVENT)
-                    .thenComparingInt(t -> t.kind().ordinal())
-                    // 4) alphabetical as final tie-break
-                    .thenComparing(alphabeticalOrder);
-
-    private static final Comparator<Task> typeOrder =
-            Comparator.<Task>comparingInt(t -> rank(t.kind()))
-                    .thenComparing(alphabeticalOrder);
+    private static final Comparator<Task> dateOrder = TaskList::compareByDate;
+
+    private static final Comparator<Task> typeOrder = (a, b) -> {
+        int byKind = Integer.compare(rank(a.kind()), rank(b.kind()));
+        return byKind != 0 ? byKind : alphabeticalOrder.compare(a, b);
+    };
+
+    /** Tasks per page when a page is requested without a size. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Pending changes beyond this count collapse into a single {@link Change.Type#RESET}. */
+    private static final int MAX_PENDING_CHANGES = 1024;
 
     private final ArrayList<Task> tasks;
+    private final ArrayList<Change> changes = new ArrayList<>();
+    private boolean isReset;
+    /** Number of {@link #drainChanges()} calls so far, so a {@link Checkpoint} can tell if its log was saved. */
+    private long drainCount;
+    /** Built on the first {@link #findString(String)}, then kept up to date by {@link #add} and {@link #remove}. */
+    private SearchIndex searchIndex;
+    /** Built on the first listing in each built-in order, then kept up to date by {@link #add} and {@link #remove}. */
+    private final EnumMap<SortOrder, SortedView> sortedViews = new EnumMap<>(SortOrder.class);
+    private final View live = new LiveView();
 
     /**
      * Creates an empty {@code TaskList}.
@@ -55,6 +58,41 @@ public class TaskList {
         this.tasks = list;
     }
 
+    /**
+     * Returns whether this list was created around {@code list}, e.g. the tasks {@link Storage#getData()} loaded.
+     */
+    boolean isBackedBy(ArrayList<Task> list) {
+        return tasks == list;
+    }
+
+    /**
+     * Date order with rules:
+     * 1) Todos appear before non-Todos.
+     * 2) Among dated tasks, earlier dates come first (missing -> LocalDate.MAX).
+     * 3) If same date and kinds differ, DEADLINE precedes EVENT.
+     * 4) If same date and kind, alphabetical.
+     * Only primitive and cached keys are compared, so sorting allocates nothing.
+     */
+    private static int compareByDate(Task a, Task b) {
+        // 1) TODOs first
+        int byTodo = Boolean.compare(a.kind() != Task.TaskKind.TODO, b.kind() != Task.TaskKind.TODO);
+        if (byTodo != 0) {
+            return byTodo;
+        }
+        // 2) by date value; Todos have no date -> MAX, so they won't reorder among themselves here
+        int byDate = Long.compare(a.sortEpochDay(), b.sortEpochDay());
+        if (byDate != 0) {
+            return byDate;
+        }
+        // 3) DEADLINE before EVENT when dates tie (enum order: TODO, DEADLINE, EVENT)
+        int byKind = Integer.compare(a.kind().ordinal(), b.kind().ordinal());
+        if (byKind != 0) {
+            return byKind;
+        }
+        // 4) alphabetical as final tie-break
+        return alphabeticalOrder.compare(a, b);
+    }
+
     private static int rank(Task.TaskKind k) {
         return switch (k) {
         case TODO -> 0;
@@ -69,7 +107,7 @@ public class TaskList {
      * @return the size of the list
      */
     public int size() {
-        return tasks.size();
+        return view().tasks().size();
     }
 
     /**
@@ -78,7 +116,7 @@ public class TaskList {
      * @return {@code true} if the list has no tasks, otherwise {@code false}
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return view().tasks().isEmpty();
     }
 
     /**
@@ -88,8 +126,9 @@ public class TaskList {
      * @return the {@link Task} at the given index
      */
     public Task get(int index) {
-        assert index >= 0 && index < size() : "Index out of bounds";
-        return tasks.get(index);
+        List<Task> view = view().tasks();
+        assert index >= 0 && index < view.size() : "Index out of bounds";
+        return view.get(index);
     }
 
     /**
@@ -100,6 +139,13 @@ public class TaskList {
     public void add(Task t) {
         assert t != null : "Cannot add null task";
         tasks.add(t);
+        if (searchIndex != null) {
+            searchIndex.add(t);
+        }
+        for (SortedView view : sortedViews.values()) {
+            view.add(t);
+        }
+        record(Change.Type.ADD, tasks.size() - 1, t);
     }
 
     /**
@@ -110,7 +156,218 @@ public class TaskList {
      */
     public Task remove(int index) {
         assert index >= 0 && index < size() : "Index out of bounds";
-        return tasks.remove(index);
+        Task removed = tasks.remove(index);
+        if (searchIndex != null) {
+            searchIndex.remove(index);
+        }
+        for (SortedView view : sortedViews.values()) {
+            view.remove(index);
+        }
+        record(Change.Type.DELETE, index, removed);
+        return removed;
+    }
+
+    /**
+     * Marks the task at the specified index as done.
+     *
+     * @param index the position of the task (0-based)
+     * @return the marked {@link Task}
+     */
+    public Task mark(int index) {
+        assert index >= 0 && index < size() : "Index out of bounds";
+        Task t = setDone(index, true);
+        record(Change.Type.MARK, index, t);
+        return t;
+    }
+
+    /**
+     * Marks the task at the specified index as not done.
+     *
+     * @param index the position of the task (0-based)
+     * @return the unmarked {@link Task}
+     */
+    public Task unmark(int index) {
+        assert index >= 0 && index < size() : "Index out of bounds";
+        Task t = setDone(index, false);
+        record(Change.Type.UNMARK, index, t);
+        return t;
+    }
+
+    /**
+     * Removes every task whose index is set in {@code indices}, in a single compaction pass.
+     *
+     * @param indices the 0-based positions to remove; each must be within the list
+     * @return the removed tasks, in list order
+     */
+    public List<Task> removeAll(BitSet indices) {
+        assert indices.length() <= size() : "Index out of bounds";
+        ArrayList<Task> removed = new ArrayList<>(indices.cardinality());
+        int kept = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            if (indices.get(i)) {
+                removed.add(t);
+            } else {
+                tasks.set(kept++, t);
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+        if (searchIndex != null) {
+            searchIndex.removeAll(indices);
+        }
+        for (SortedView view : sortedViews.values()) {
+            view.removeAll(indices);
+        }
+        // logged from the highest index down, so every index is still valid when the log is replayed in order
+        int r = removed.size();
+        for (int i = indices.length() - 1; i >= 0; i = indices.previousSetBit(i - 1)) {
+            record(Change.Type.DELETE, i, removed.get(--r));
+        }
+        return removed;
+    }
+
+    /**
+     * Marks every task whose index is set in {@code indices} as done.
+     * Only tasks that were not already done are logged as changed.
+     *
+     * @param indices the 0-based positions to mark; each must be within the list
+     * @return the selected tasks, in list order
+     */
+    public List<Task> markAll(BitSet indices) {
+        return setDoneAll(indices, true);
+    }
+
+    /**
+     * Marks every task whose index is set in {@code indices} as not done.
+     * Only tasks that were done are logged as changed.
+     *
+     * @param indices the 0-based positions to unmark; each must be within the list
+     * @return the selected tasks, in list order
+     */
+    public List<Task> unmarkAll(BitSet indices) {
+        return setDoneAll(indices, false);
+    }
+
+    private List<Task> setDoneAll(BitSet indices, boolean isDone) {
+        assert indices.length() <= size() : "Index out of bounds";
+        ArrayList<Task> selected = new ArrayList<>(indices.cardinality());
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            Task t = tasks.get(i);
+            if (t.isDone() != isDone) {
+                t = setDone(i, isDone);
+                record(isDone ? Change.Type.MARK : Change.Type.UNMARK, i, t);
+            }
+            selected.add(t);
+        }
+        return selected;
+    }
+
+    /**
+     * Sets the done state of the task at {@code index} and returns the task now at that position.
+     * Tasks are changed in place here; {@link ConcurrentTaskList} replaces them with marked copies instead,
+     * so that tasks already visible to readers never change.
+     */
+    Task setDone(int index, boolean isDone) {
+        Task t = tasks.get(index);
+        Task changed = withDone(t, isDone);
+        if (changed != t) {
+            tasks.set(index, changed);
+            // the lookups still hold the old task
+            searchIndex = null;
+            sortedViews.clear();
+        }
+        return changed;
+    }
+
+    /**
+     * Returns {@code t} with its done state set to {@code isDone}, either {@code t} itself or a copy.
+     */
+    Task withDone(Task t, boolean isDone) {
+        if (isDone) {
+            t.mark();
+        } else {
+            t.unmark();
+        }
+        return t;
+    }
+
+    /**
+     * Returns whether the list changed since the last {@link #drainChanges()}.
+     *
+     * @return {@code true} if there are changes waiting to be saved
+     */
+    public boolean hasPendingChanges() {
+        return isReset || !changes.isEmpty();
+    }
+
+    /**
+     * Returns the changes made since the last call and clears the pending log.
+     * If too many changes piled up without being drained, a single
+     * {@link Change.Type#RESET} is returned instead, meaning the whole list must be rewritten.
+     *
+     * @return the pending changes in the order they were made
+     */
+    public List<Change> drainChanges() {
+        List<Change> drained = isReset
+                ? List.of(new Change(Change.Type.RESET, -1, null))
+                : List.copyOf(changes);
+        changes.clear();
+        isReset = false;
+        drainCount++;
+        return drained;
+    }
+
+    /**
+     * Captures the current tasks, their done state and the pending change log, so that a group of
+     * commands can be undone with {@link #rollback(Checkpoint)}. Costs one pass over the list.
+     *
+     * @return the captured state
+     */
+    public Checkpoint checkpoint() {
+        boolean[] done = new boolean[tasks.size()];
+        for (int i = 0; i < done.length; i++) {
+            done[i] = tasks.get(i).isDone();
+        }
+        return new Checkpoint(new ArrayList<>(tasks), done, new ArrayList<>(changes), isReset, drainCount);
+    }
+
+    /**
+     * Restores the list to the state captured by {@code checkpoint}.
+     * If the changes made since were not drained, the pending change log is restored too, so the next save
+     * writes exactly what it would have before; otherwise the next save rewrites the whole list.
+     *
+     * @param checkpoint a state captured earlier from this list
+     */
+    public void rollback(Checkpoint checkpoint) {
+        assert checkpoint != null : "Cannot roll back to null checkpoint";
+        tasks.clear();
+        tasks.addAll(checkpoint.tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).isDone() != checkpoint.done[i]) {
+                setDone(i, checkpoint.done[i]);
+            }
+        }
+        searchIndex = null;
+        sortedViews.clear();
+        changes.clear();
+        if (checkpoint.drainCount == drainCount) {
+            changes.addAll(checkpoint.changes);
+            isReset = checkpoint.isReset;
+        } else {
+            isReset = true;
+        }
+    }
+
+    private void record(Change.Type type, int index, Task t) {
+        if (isReset) {
+            return;
+        }
+        if (changes.size() >= MAX_PENDING_CHANGES) {
+            changes.clear();
+            isReset = true;
+            return;
+        }
+        changes.add(new Change(type, index, t));
     }
 
     /**
@@ -120,13 +377,15 @@ public class TaskList {
      * @return formatted string representation of the task list
      */
     public String listString() {
-        if (tasks.isEmpty()) {
+        List<Task> view = view().tasks();
+        if (view.isEmpty()) {
             return "Your list is empty.";
         }
         StringBuilder sb = new StringBuilder();
         sb.append("Here are the tasks in your list:");
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append("\n").append(i + 1).append(". ").append(tasks.get(i).toString());
+        for (int i = 0; i < view.size(); i++) {
+            sb.append("\n").append(i + 1).append(". ");
+            view.get(i).appendTo(sb);
         }
         return sb.toString();
     }
@@ -139,6 +398,8 @@ public class TaskList {
      * each matching task with its index. If there are no matches, the method returns
      * a message stating that no tasks were found.</p>
      *
+     * <p>Matching goes through a {@link SearchIndex}, so only tasks sharing part of the keyword are examined.</p>
+     *
      * @param word the keyword to search for within task descriptions
      * @return a formatted string listing all matching tasks, or a message if none are found
      */
@@ -147,14 +408,14 @@ public class TaskList {
         StringBuilder sb = new StringBuilder();
         int count = 0;
 
-        for (Task t : tasks) {
-            if (t.getDescription().toLowerCase(Locale.ROOT).contains(keyword)) {
-                if (count == 0) {
-                    sb.append("Here are the matching tasks in your list:\n");
-                }
-                count++;
-                sb.append(count).append(". ").append(t.toString()).append("\n");
+        for (Task t : view().find(keyword)) {
+            if (count == 0) {
+                sb.append("Here are the matching tasks in your list:\n");
             }
+            count++;
+            sb.append(count).append(". ");
+            t.appendTo(sb);
+            sb.append("\n");
         }
 
         if (count == 0) {
@@ -180,27 +441,133 @@ public class TaskList {
     public String sortedList(Comparator<Task> order, String header) {
         Objects.requireNonNull(order, "order");
         Objects.requireNonNull(header, "header");
+        List<Task> tasks = view().tasks();
         if (tasks.isEmpty()) {
             return "Your list is empty.";
         }
         ArrayList<Task> view = new ArrayList<>(tasks);
         view.sort(order);
+        return render(view, header);
+    }
+
+    /**
+     * Same as {@link #sortedList(Comparator, String)} for one of the built-in orders, walking a {@link SortedView}
+     * that is kept sorted across calls instead of sorting a copy each time.
+     */
+    private String cachedSortedList(SortOrder order) {
+        View view = view();
+        if (view.tasks().isEmpty()) {
+            return "Your list is empty.";
+        }
+        return render(view.sorted(order), order.header + ":");
+    }
 
+    private static String render(Iterable<Task> view, String header) {
         StringBuilder sb = new StringBuilder();
         sb.append(header);
         for (Task t : view) {
-            sb.append("\n- ").append(t.toString());
+            sb.append("\n- ");
+            t.appendTo(sb);
         }
         return sb.toString();
     }
 
+    /**
+     * Returns how many pages of {@code pageSize} tasks the list fills.
+     *
+     * @param pageSize the number of tasks per page; must be positive
+     * @return the number of pages, {@code 0} if the list is empty
+     */
+    public int pageCount(int pageSize) {
+        return pageCount(size(), pageSize);
+    }
+
+    private static int pageCount(int size, int pageSize) {
+        assert pageSize > 0 : "Page size must be positive";
+        return (int) ((size + (long) pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Writes one page of the list to {@code out}, numbered by position in the whole list so the numbers
+     * can be used with {@code mark}, {@code unmark} and {@code delete}.
+     * Only the tasks on the page are rendered, so the cost does not grow with the size of the list.
+     *
+     * @param out      where the page is written
+     * @param page     the 1-based page number, at most {@link #pageCount(int)}
+     * @param pageSize the number of tasks per page; must be positive
+     * @throws IOException if {@code out} fails
+     */
+    public void appendPage(Appendable out, int page, int pageSize) throws IOException {
+        List<Task> view = view().tasks();
+        if (view.isEmpty()) {
+            out.append("Your list is empty.");
+            return;
+        }
+        checkPage(view.size(), page, pageSize);
+        StringBuilder line = pageHeader("Here are the tasks in your list", view.size(), page, pageSize);
+        out.append(line);
+        int from = (page - 1) * pageSize;
+        int to = Math.min(view.size(), from + pageSize);
+        for (int i = from; i < to; i++) {
+            line.setLength(0);
+            line.append('\n').append(i + 1).append(". ");
+            view.get(i).appendTo(line);
+            out.append(line);
+        }
+    }
+
+    /**
+     * Writes one page of the list in the given order to {@code out}, hyphen-bulleted like the full sorted listings.
+     * Earlier pages are skipped in the kept-sorted view without being rendered.
+     *
+     * @param out      where the page is written
+     * @param order    the order of the listing
+     * @param page     the 1-based page number, at most {@link #pageCount(int)}
+     * @param pageSize the number of tasks per page; must be positive
+     * @throws IOException if {@code out} fails
+     */
+    public void appendSortedPage(Appendable out, SortOrder order, int page, int pageSize) throws IOException {
+        Objects.requireNonNull(order, "order");
+        View view = view();
+        int size = view.tasks().size();
+        if (size == 0) {
+            out.append("Your list is empty.");
+            return;
+        }
+        checkPage(size, page, pageSize);
+        StringBuilder line = pageHeader(order.header, size, page, pageSize);
+        out.append(line);
+        Iterator<Task> it = view.sorted(order).iterator();
+        for (long skip = (long) (page - 1) * pageSize; skip > 0; skip--) {
+            it.next();
+        }
+        for (int i = 0; i < pageSize && it.hasNext(); i++) {
+            line.setLength(0);
+            line.append("\n- ");
+            it.next().appendTo(line);
+            out.append(line);
+        }
+    }
+
+    private static void checkPage(int size, int page, int pageSize) {
+        if (pageSize <= 0 || page <= 0 || page > pageCount(size, pageSize)) {
+            throw new IllegalArgumentException("No page " + page + " of size " + pageSize);
+        }
+    }
+
+    private static StringBuilder pageHeader(String header, int size, int page, int pageSize) {
+        StringBuilder sb = new StringBuilder(header.length() + 64);
+        return sb.append(header).append(" (page ").append(page).append(" of ").append(pageCount(size, pageSize))
+                .append("):");
+    }
+
     /**
      * Returns a formatted listing of tasks sorted alphabetically by description (case-insensitive).
      *
      * @return a formatted, hyphen-bulleted alphabetical listing, or an empty-list message
      */
     public String listSortedByAlphabetical() {
-        return sortedList(alphabeticalOrder, "Here are your tasks in alphabetical order:");
+        return cachedSortedList(SortOrder.ALPHABETICAL);
     }
 
     /**
@@ -215,7 +582,7 @@ public class TaskList {
      * @return a formatted, hyphen-bulleted date-ordered listing, or an empty-list message
      */
     public String listSortedByDate() {
-        return sortedList(dateOrder, "Here are your tasks in date order:");
+        return cachedSortedList(SortOrder.DATE);
     }
 
     /**
@@ -225,6 +592,112 @@ public class TaskList {
      * @return a formatted, hyphen-bulleted type-ordered listing, or an empty-list message
      */
     public String listSortedByType() {
-        return sortedList(typeOrder, "Here are your tasks by type:");
+        return cachedSortedList(SortOrder.TYPE);
+    }
+
+    /**
+     * The built-in orders of the sorted listings.
+     */
+    public enum SortOrder {
+        /** By description, case-insensitive. */
+        ALPHABETICAL(alphabeticalOrder, "Here are your tasks in alphabetical order"),
+        /** Todos first, then by date; see {@link #listSortedByDate()}. */
+        DATE(dateOrder, "Here are your tasks in date order"),
+        /** Todos, then deadlines, then events, each alphabetical. */
+        TYPE(typeOrder, "Here are your tasks by type");
+
+        private final Comparator<Task> comparator;
+        private final String header;
+
+        SortOrder(Comparator<Task> comparator, String header) {
+            this.comparator = comparator;
+            this.header = header;
+        }
+
+        /** Returns the comparator of this order; ties keep list order. */
+        Comparator<Task> comparator() {
+            return comparator;
+        }
+    }
+
+    /**
+     * Returns what the listings read. Here that is the list itself, with its search index and sorted views;
+     * {@link ConcurrentTaskList} returns an immutable snapshot instead.
+     */
+    View view() {
+        return live;
+    }
+
+    /**
+     * The tasks that a listing reads, in list order, with the lookups built over them.
+     */
+    interface View {
+        /** Returns the tasks in list order. */
+        List<Task> tasks();
+
+        /** Returns the tasks whose description, folded to lower case, contains {@code keyword}, in list order. */
+        List<Task> find(String keyword);
+
+        /** Returns the tasks in {@code order}, ties in list order. */
+        Iterable<Task> sorted(SortOrder order);
+    }
+
+    /**
+     * The list itself, with a {@link SearchIndex} and {@link SortedView}s built on first use and kept up to date
+     * by the mutators.
+     */
+    private final class LiveView implements View {
+        @Override
+        public List<Task> tasks() {
+            return tasks;
+        }
+
+        @Override
+        public List<Task> find(String keyword) {
+            if (searchIndex == null) {
+                searchIndex = new SearchIndex(tasks);
+            }
+            return searchIndex.find(keyword);
+        }
+
+        @Override
+        public Iterable<Task> sorted(SortOrder order) {
+            return sortedViews.computeIfAbsent(order, o -> new SortedView(tasks, o.comparator));
+        }
+    }
+
+    /**
+     * The state of a {@code TaskList} captured by {@link #checkpoint()}.
+     */
+    public static final class Checkpoint {
+        private final ArrayList<Task> tasks;
+        private final boolean[] done;
+        private final ArrayList<Change> changes;
+        private final boolean isReset;
+        private final long drainCount;
+
+        private Checkpoint(ArrayList<Task> tasks, boolean[] done, ArrayList<Change> changes, boolean isReset,
+                long drainCount) {
+            this.tasks = tasks;
+            this.done = done;
+            this.changes = changes;
+            this.isReset = isReset;
+            this.drainCount = drainCount;
+        }
+    }
+
+    /**
+     * A single mutation applied to a {@code TaskList}, kept so that {@link Storage}
+     * can persist only what changed since the last save.
+     *
+     * @param type  the kind of mutation
+     * @param index the 0-based index the mutation applied to ({@code -1} for {@link Type#RESET})
+     * @param task  the task that was added, removed, marked or unmarked ({@code null} for {@link Type#RESET})
+     */
+    public record Change(Type type, int index, Task task) {
+        /**
+         * Kinds of mutations tracked by the change log.
+         */
+        public enum Type { ADD, MARK, UNMARK, DELETE, RESET }
     }
 }
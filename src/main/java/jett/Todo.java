@@ -19,6 +19,15 @@ public class Todo extends Task {
         super(description);
     }
 
+    private Todo(Todo other, boolean isDone) {
+        super(other, isDone);
+    }
+
+    @Override
+    Todo withDone(boolean isDone) {
+        return new Todo(this, isDone);
+    }
+
     /**
      * Identifies this task as a {@link TaskKind#TODO}.
      *
@@ -39,13 +48,14 @@ public class Todo extends Task {
     }
 
     /**
-     * Returns a string representation of this to-do task.
+     * Appends the string representation of this to-do task.
      * The format includes the task type, status, and description.
      *
-     * @return formatted string representation of the to-do
+     * @param sb the builder to append to
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    public void appendTo(StringBuilder sb) {
+        sb.append("[T]");
+        super.appendTo(sb);
     }
 }
@@ -8,6 +8,8 @@ import java.util.Objects;
  * exit messages, and error messages.
  */
 public class Ui {
+    /** Starts every error reply, so front ends can tell errors apart from other replies. */
+    static final String ERROR_PREFIX = "ERROR: ";
 
     /**
      * Provides the greeting message when the application starts.
@@ -25,6 +27,6 @@ public class Ui {
      * @return the string for the error message
      */
     public String getError(String msg) {
-        return "ERROR: " + Objects.requireNonNull(msg, "msg");
+        return ERROR_PREFIX + Objects.requireNonNull(msg, "msg");
     }
 }
@@ -0,0 +1,65 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BackgroundSaverTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void burstOfChanges_coalescedIntoFewWrites() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString());
+        TaskList list = new TaskList();
+        BackgroundSaver saver = new BackgroundSaver(storage, list, 200);
+
+        for (int i = 0; i < 50; i++) {
+            synchronized (list) {
+                list.add(new Todo("task " + i));
+            }
+            saver.markDirty();
+        }
+        saver.awaitDurable();
+
+        assertEquals(50, Files.readAllLines(data).size());
+        assertTrue(saver.getWriteCount() < 50, "writes were not coalesced: " + saver.getWriteCount());
+        saver.close();
+    }
+
+    @Test
+    public void flush_writesPendingChangesImmediately() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        TaskList list = new TaskList();
+        BackgroundSaver saver = new BackgroundSaver(new Storage(data.toString()), list, 60_000);
+
+        synchronized (list) {
+            list.add(new Todo("read book"));
+        }
+        saver.markDirty();
+        saver.flush();
+
+        assertEquals(List.of("[T][ ] read book"), Files.readAllLines(data));
+        saver.close();
+    }
+
+    @Test
+    public void asyncJett_byeFlushesBeforeReplying() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Jett jett = new Jett(data.toString(), Storage.Mode.JOURNAL, true);
+        jett.getResponse("todo read book");
+        jett.getResponse("mark 1");
+        jett.getResponse("bye");
+
+        List<Task> loaded = new Storage(data.toString(), Storage.Mode.JOURNAL).getData();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][X] read book", loaded.get(0).toString());
+    }
+}
@@ -0,0 +1,22 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import org.junit.jupiter.api.Test;
+
+public class ChatMessageTest {
+
+    @Test
+    public void fromResponse_errorPrefix_becomesErrorMessageWithoutPrefix() {
+        assertEquals(new ChatMessage(ChatMessage.Speaker.ERROR, "Try again."),
+                ChatMessage.fromResponse(new Ui().getError("Try again.")));
+        assertEquals(new ChatMessage(ChatMessage.Speaker.JETT, "Your list is empty."),
+                ChatMessage.fromResponse("Your list is empty."));
+    }
+
+    @Test
+    public void pending_eachCallIsADistinctPlaceholder() {
+        assertNotSame(ChatMessage.pending(), ChatMessage.pending());
+    }
+}
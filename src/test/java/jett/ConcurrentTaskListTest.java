@@ -0,0 +1,139 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTaskListTest {
+
+    private static final int TASKS = 200;
+
+    @Test
+    public void snapshot_unchangedByLaterWrites() {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        list.add(new Todo("read book"));
+        list.add(new Deadline("return book", "2025-09-30"));
+        List<Task> before = list.snapshot();
+
+        list.mark(0);
+        list.add(new Todo("buy milk"));
+        list.remove(1);
+
+        assertEquals(2, before.size());
+        assertFalse(before.get(0).isDone());
+        assertEquals("[D][ ] return book (by: Sep 30 2025)", before.get(1).toString());
+        assertEquals("Here are the tasks in your list:\n1. [T][X] read book\n2. [T][ ] buy milk", list.listString());
+        assertEquals("Here are the matching tasks in your list:\n1. [T][X] read book\n", list.findString("BOOK"));
+    }
+
+    @Test
+    public void rollback_restoresDoneStateOfReplacedTasks() {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        list.add(new Todo("read book"));
+        TaskList.Checkpoint checkpoint = list.checkpoint();
+        list.mark(0);
+
+        list.rollback(checkpoint);
+
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] read book", list.listString());
+    }
+
+    /**
+     * One writer marks and unmarks every task in single writes while another appends and deletes a task;
+     * readers check that every listing they see shows all tasks in the same state, numbered without gaps.
+     */
+    @Test
+    public void readersDuringWrites_neverSeeTornListings() throws Exception {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        for (int i = 0; i < TASKS; i++) {
+            list.add(new Todo(String.format("task %03d", i)));
+        }
+        BitSet all = new BitSet();
+        all.set(0, TASKS);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                list.markAll(all);
+                list.unmarkAll(all);
+            }
+        }));
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                list.add(new Todo("extra"));
+                list.remove(TASKS);
+            }
+        }));
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(new Thread(() -> {
+                while (isWriting.get() && failure.get() == null) {
+                    String problem = checkListing(list.listString(), true);
+                    if (problem == null) {
+                        problem = checkListing(list.listSortedByAlphabetical(), false);
+                    }
+                    if (problem == null) {
+                        problem = checkListing(list.findString("task").trim(), true);
+                    }
+                    if (problem != null) {
+                        failure.compareAndSet(null, problem);
+                    }
+                }
+            }));
+        }
+        for (Thread t : readers) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        isWriting.set(false);
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(TASKS, list.size());
+        assertTrue(list.listString().indexOf("[X]") < 0);
+    }
+
+    /**
+     * Returns what is wrong with {@code listing}, or {@code null} if its {@code task} lines all share one
+     * done state and, when {@code isNumbered}, are numbered from 1 without gaps.
+     */
+    private static String checkListing(String listing, boolean isNumbered) {
+        String[] lines = listing.split("\n");
+        Character state = null;
+        int tasks = 0;
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            if (isNumbered && !line.startsWith(i + ". ")) {
+                return "Line " + i + " is misnumbered: " + line;
+            }
+            if (!line.contains("] task ")) {
+                continue;
+            }
+            char done = line.charAt(line.indexOf("][") + 2);
+            if (state != null && state != done) {
+                return "Listing mixes done states:\n" + listing;
+            }
+            state = done;
+            tasks++;
+        }
+        return tasks == TASKS ? null : "Listing has " + tasks + " tasks:\n" + listing;
+    }
+}
@@ -4,6 +4,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 class DateParserTest {
@@ -51,4 +59,96 @@ class DateParserTest {
         // Null string
         assertThrows(NullPointerException.class, () -> DateParser.parseDate(null));
     }
+
+    @Test
+    void parseAndFormat_repeatedDate_servedFromCache() {
+        String input = "Feb 3 1987"; // not used by any other test
+        long parseHits = DateParser.parseCache().getHits();
+        long formatHits = DateParser.formatCache().getHits();
+
+        LocalDate first = DateParser.parseDate(input);
+        LocalDate second = DateParser.parseDate("  " + input + " ");
+        assertEquals(LocalDate.of(1987, 2, 3), second);
+        assertTrue(first == second);
+        assertEquals(parseHits + 1, DateParser.parseCache().getHits());
+
+        assertEquals(input, DateParser.formatDate(first));
+        assertEquals(input, DateParser.formatDate(LocalDate.of(1987, 2, 3)));
+        assertEquals(formatHits + 1, DateParser.formatCache().getHits());
+        assertTrue(DateParser.cacheStats().startsWith("date cache: parse "));
+    }
+
+    /** The formatter chain {@link DateParser#parseDate(String)} used before its fast path, as the reference. */
+    private static LocalDate parseWithFormatters(String s) {
+        DateTimeFormatter[] formats = {DateTimeFormatter.ISO_LOCAL_DATE, DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("MMM d yyyy", Locale.ENGLISH)};
+        for (DateTimeFormatter fmt : formats) {
+            try {
+                return LocalDate.parse(s, fmt);
+            } catch (DateTimeParseException ignored) {
+                // try next format
+            }
+        }
+        return null;
+    }
+
+    private static void assertSameAsFormatters(String s) {
+        LocalDate expected = parseWithFormatters(s);
+        LocalDate recognised = DateParser.recognise(s);
+        if (recognised != DateParser.UNDECIDED) {
+            assertEquals(expected, recognised, s);
+        }
+        LocalDate actual;
+        try {
+            actual = DateParser.parseDate(s);
+        } catch (IllegalArgumentException e) {
+            actual = null;
+        }
+        assertEquals(expected, actual, s);
+    }
+
+    @Test
+    void parseDate_everyDayMonthYearShape_matchesFormatters() {
+        String[] years = {"0000", "0001", "0099", "1900", "2000", "2023", "2024", "2025", "2100", "9999", "99999",
+            "+2025", "-2025", "025"};
+        String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec",
+            "sep", "SEP", "Sept", "September", "Mai"};
+        List<String> inputs = new ArrayList<>();
+        for (String y : years) {
+            for (int m = 0; m <= 13; m++) {
+                for (int d = 0; d <= 32; d++) {
+                    inputs.add(y + "-" + String.format("%02d", m) + "-" + String.format("%02d", d));
+                    inputs.add(d + "/" + m + "/" + y);
+                    inputs.add(String.format("%02d/%02d/%s", d, m, y));
+                    inputs.add(String.format("%03d/%d/%s", d, m, y));
+                }
+            }
+            for (String name : months) {
+                for (int d = 0; d <= 32; d++) {
+                    inputs.add(name + " " + d + " " + y);
+                    inputs.add(name + " " + String.format("%02d", d) + " " + y);
+                }
+            }
+        }
+        for (String s : inputs) {
+            assertSameAsFormatters(s);
+        }
+    }
+
+    @Test
+    void parseDate_randomInputs_matchesFormatters() {
+        Random random = new Random(13);
+        String[] pieces = {"0", "1", "2", "9", "12", "29", "31", "2024", "2025", "-", "/", " ", "+", "Sep", "Feb",
+            "feb", "x", "T", "\u0661"};
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int k = 1 + random.nextInt(7); k > 0; k--) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String s = sb.toString().trim();
+            if (!s.isEmpty()) {
+                assertSameAsFormatters(s);
+            }
+        }
+    }
 }
@@ -1,11 +1,26 @@
 package jett;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class JettIntegrationTest {
 
+    @TempDir
+    Path tempDir;
+
     @Test
     public void fullFlow_todoMarkBye() {
         Jett jett = new Jett("data/test-jett.txt");
@@ -26,4 +41,137 @@ public class JettIntegrationTest {
         String bye = jett.getResponse("bye");
         assertTrue(bye.contains("I’m out. Keep your crosshair steady."));
     }
+
+    @Test
+    public void batch_failingLine_reportedAndRestStillRun() {
+        String file = tempDir.resolve("batch.txt").toString();
+        Jett jett = new Jett(file);
+
+        List<String> responses = jett.getResponses(List.of("todo A", "mark 5", "todo B"));
+        assertEquals(3, responses.size());
+        assertTrue(responses.get(1).startsWith("ERROR: I can't find task 5."));
+
+        // Both todos were saved by the single save at the end of the batch
+        String list = new Jett(file).getResponse("list");
+        assertTrue(list.contains("1. [T][ ] A"));
+        assertTrue(list.contains("2. [T][ ] B"));
+    }
+
+    @Test
+    public void batch_allOrNothing_failingLineRollsBackEverything() {
+        String file = tempDir.resolve("atomic.txt").toString();
+        Jett jett = new Jett(file);
+        jett.getResponse("todo keep");
+        String before = jett.getResponse("list");
+
+        List<String> responses = jett.getResponses(
+                List.of("todo A", "mark 1", "delete 1", "deadline oops /by someday", "todo never run"), true);
+        assertEquals(4, responses.size());
+        assertTrue(responses.get(3).startsWith("ERROR: Use valid date format"));
+        assertTrue(responses.get(3).endsWith("Nothing in this batch was applied."));
+
+        assertEquals(before, jett.getResponse("list"));
+        assertEquals(before, new Jett(file).getResponse("list"));
+    }
+
+    @Test
+    public void run_script_repliesToEachLineUntilBye() throws Exception {
+        Jett jett = new Jett(tempDir.resolve("cli.txt").toString(), Storage.Mode.SNAPSHOT, true);
+        StringWriter out = new StringWriter();
+        jett.run(new BufferedReader(new StringReader("todo read book\nmark 1\n\nbye\nlist\n")), out);
+        jett.close();
+
+        assertEquals(jett.getGreeting() + "\n\n"
+                + "Easy. Dropped it in your list:\n[T][ ] read book\nNow you have 1 task in the list.\n\n"
+                + "Marked. Clean finish:\n[T][X] read book\n\n"
+                + "ERROR: What can I do for you?\n\n"
+                + "I’m out. Keep your crosshair steady.\n\n", out.toString());
+        assertEquals("Here are the tasks in your list:\n1. [T][X] read book",
+                new Jett(tempDir.resolve("cli.txt").toString()).getResponse("list"));
+    }
+
+    @Test
+    public void stats_reportsEachCommandRunAndIsExportedOnBye() throws Exception {
+        String file = tempDir.resolve("stats.txt").toString();
+        Jett jett = new Jett(file);
+        assertTrue(jett.getResponse("stats").contains("No commands timed yet."));
+
+        jett.getResponse("todo read book");
+        jett.getResponse("todo buy milk");
+        jett.getResponse("mark 1");
+        jett.getResponses(List.of("list", "find book"));
+        String stats = jett.getResponse("stats");
+
+        assertTrue(stats.startsWith("Command timings in microseconds (p50 / p99 / max):"));
+        assertTrue(stats.contains("\ntodo: 2 runs\n  dispatch "));
+        assertTrue(stats.contains("\n  operation "));
+        assertTrue(stats.contains("\nmark: 1 run\n"));
+        assertTrue(stats.contains("\nlist: 1 run\n"));
+        assertTrue(stats.contains("\nfind: 1 run\n"));
+        assertTrue(stats.contains("\nstats: 1 run\n"));
+        assertTrue(stats.contains("Save phases:"));
+
+        StartupMetrics startup = new StartupMetrics();
+        startup.markShown();
+        startup.markLoaded();
+        jett.setStartupMetrics(startup);
+        assertTrue(jett.getResponse("stats").endsWith("\n" + startup.summary()));
+
+        jett.getResponse("bye");
+        String exported = Files.readString(tempDir.resolve("stats.txt.stats"));
+        assertTrue(exported.contains("\nbye: 1 run\n"));
+        assertTrue(exported.contains("\ntodo: 2 runs\n"));
+    }
+
+    @Test
+    public void binary_newerVersionFile_neverSavedOver() throws Exception {
+        for (Storage.Mode mode : List.of(Storage.Mode.BINARY, Storage.Mode.INCREMENTAL)) {
+            Path data = tempDir.resolve(mode + ".bin");
+            Storage storage = new Storage(data.toString(), mode);
+            TaskList tasks = new TaskList();
+            tasks.add(new Todo("from the future"));
+            storage.saveNow(tasks);
+            byte[] bytes = Files.readAllBytes(data);
+            bytes[BinaryFormat.HEADER_BYTES - 1] = 2; // version byte
+            Files.write(data, bytes);
+
+            Jett jett = new Jett(data.toString(), mode);
+            assertEquals("Your list is empty.", jett.getResponse("list"));
+            jett.getResponse("todo read book");
+            jett.getResponse("bye");
+
+            assertArrayEquals(bytes, Files.readAllBytes(data), mode.name());
+        }
+    }
+
+    @Test
+    public void tasks_unchangedByLaterCommands_withAndWithoutConcurrentReaders() {
+        for (boolean hasConcurrentReaders : new boolean[] {false, true}) {
+            Jett jett = new Jett(tempDir.resolve(hasConcurrentReaders + ".txt").toString(), Storage.Mode.SNAPSHOT,
+                    false, hasConcurrentReaders);
+            jett.getResponse("todo read book");
+            List<Task> before = jett.tasks();
+
+            jett.getResponse("mark 1");
+            jett.getResponse("todo buy milk");
+
+            assertEquals(1, before.size());
+            assertEquals("[T][ ] read book", before.get(0).toString());
+            assertEquals("[T][X] read book", jett.tasks().get(0).toString());
+            assertEquals(2, jett.tasks().size());
+        }
+    }
+
+    @Test
+    public void fromOptions_durability_forcesSaves() {
+        String file = tempDir.resolve("durable.txt").toString();
+        Jett jett = Jett.fromOptions(new String[] {"--data", file, "--durability", "metadata"});
+        jett.getResponse("todo read book");
+        jett.getResponse("bye");
+
+        String stats = jett.getResponse("stats");
+        assertTrue(stats.contains("fsync: n="));
+        assertFalse(stats.contains("fsync: n=0"));
+        assertThrows(IllegalArgumentException.class, () -> Jett.fromOptions(new String[] {"--durability", "fast"}));
+    }
 }
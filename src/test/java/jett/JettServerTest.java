@@ -0,0 +1,153 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JettServerTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path data;
+    private JettServer server;
+    private HttpClient client;
+    private URI base;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        data = tmp.resolve("Jett.txt");
+        server = new JettServer(new Jett(data.toString(), Storage.Mode.SNAPSHOT, true, true), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+        base = server.getBaseUri();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path)).header(JettServer.CLIENT_HEADER, "test")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends {@code request} as is and returns the status line of the reply, for headers HttpClient will not set.
+     */
+    private String rawStatusLine(String request) throws Exception {
+        try (Socket socket = new Socket(base.getHost(), base.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            StringBuilder line = new StringBuilder();
+            for (int c = in.read(); c != -1 && c != '\r'; c = in.read()) {
+                line.append((char) c);
+            }
+            return line.toString();
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(base.resolve(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void command_andTasksQuery_returnJson() throws Exception {
+        HttpResponse<String> added = post("/command", "deadline pay \"rent\" /by 2025-09-30");
+        assertEquals(200, added.statusCode());
+        assertEquals("{\"reply\": \"Pinned your deadline:\\n[D][ ] pay \\\"rent\\\" (by: Sep 30 2025)\\n"
+                + "Now you have 1 task in the list.\"}", added.body());
+
+        post("/batch", "todo read book\nmark 2\nevent camp /from 2025-09-06 /to 2025-09-07");
+        assertEquals("{\"tasks\": [{\"number\": 2, \"type\": \"todo\", \"done\": true, "
+                + "\"description\": \"read book\"}]}",
+                get("/tasks?done=true").body());
+        assertEquals("{\"tasks\": [{\"number\": 1, \"type\": \"deadline\", \"done\": false, "
+                + "\"description\": \"pay \\\"rent\\\"\", \"by\": \"2025-09-30\"}, "
+                + "{\"number\": 3, \"type\": \"event\", "
+                + "\"done\": false, \"description\": \"camp\", \"from\": \"2025-09-06\", \"to\": \"2025-09-07\"}]}",
+                get("/tasks?done=false").body());
+
+        assertEquals(404, get("/nothing").statusCode());
+        assertEquals(405, get("/command").statusCode());
+    }
+
+    @Test
+    public void concurrentCommands_allAppliedAndSaved() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<HttpResponse<String>>> replies = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String line = "todo task " + i;
+                replies.add(clients.submit(() -> post("/command", line)));
+            }
+            for (Future<HttpResponse<String>> reply : replies) {
+                assertTrue(reply.get().body().startsWith("{\"reply\": \"Easy. Dropped it in your list:"));
+            }
+        } finally {
+            clients.shutdown();
+        }
+        server.stop(); // flushes the background writer
+        server = null;
+
+        assertEquals(200, new Storage(data.toString()).getData().size());
+    }
+
+    @Test
+    public void crossSiteRequests_refused() throws Exception {
+        post("/command", "todo keep me");
+
+        HttpRequest simplePost = HttpRequest.newBuilder(base.resolve("/command"))
+                .header("Content-Type", "text/plain").POST(HttpRequest.BodyPublishers.ofString("delete all")).build();
+        assertEquals(403, client.send(simplePost, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpRequest fromWebPage = HttpRequest.newBuilder(base.resolve("/command"))
+                .header(JettServer.CLIENT_HEADER, "test").header("Origin", "https://evil.example")
+                .POST(HttpRequest.BodyPublishers.ofString("delete all")).build();
+        assertEquals(403, client.send(fromWebPage, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpRequest fromLocalPage = HttpRequest.newBuilder(base.resolve("/tasks"))
+                .header("Origin", "http://localhost:3000").GET().build();
+        assertEquals(200, client.send(fromLocalPage, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        assertEquals("HTTP/1.1 403 Forbidden",
+                rawStatusLine("GET /tasks HTTP/1.1\r\nHost: evil.example:" + base.getPort() + "\r\n\r\n"));
+        assertEquals("HTTP/1.1 200 OK",
+                rawStatusLine("GET /tasks HTTP/1.1\r\nHost: localhost:" + base.getPort() + "\r\n\r\n"));
+
+        assertTrue(get("/tasks").body().contains("keep me"));
+    }
+
+    @Test
+    public void malformedQuery_badRequest() throws Exception {
+        assertEquals("HTTP/1.1 400 Bad Request",
+                rawStatusLine("GET /tasks?done=%zz HTTP/1.1\r\nHost: localhost\r\n\r\n"));
+        assertEquals(200, get("/tasks?done=true").statusCode());
+    }
+}
@@ -0,0 +1,56 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty_reportsZero() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getPercentile(99));
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    public void percentiles_withinOneThirtySecondOfTrueValue() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            h.record(v * 1_000);
+        }
+        assertEquals(100_000, h.getCount());
+        assertEquals(100_000_000, h.getMax());
+        for (double p : new double[] {1, 50, 90, 99, 99.9}) {
+            long expected = (long) (p * 1_000_000);
+            long actual = h.getPercentile(p);
+            assertTrue(actual >= expected && actual <= expected + expected / 32,
+                    "p" + p + " was " + actual + ", expected about " + expected);
+        }
+        assertEquals(100_000_000, h.getPercentile(100));
+    }
+
+    @Test
+    public void outliers_doNotExceedMax() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(-5);
+        h.record(3);
+        h.record(Long.MAX_VALUE);
+        assertEquals(3, h.getCount());
+        assertEquals(0, h.getPercentile(1));
+        assertEquals(3, h.getPercentile(50));
+        assertEquals(Long.MAX_VALUE, h.getMax());
+        assertTrue(h.getPercentile(100) > 1L << 36);
+    }
+
+    @Test
+    public void buckets_coverEveryValueOnce() {
+        for (long v = 0; v < 1 << 20; v++) {
+            int i = LatencyHistogram.indexOf(v);
+            assertTrue(v <= LatencyHistogram.highestIn(i), "value " + v);
+            assertTrue(i == 0 || v > LatencyHistogram.highestIn(i - 1), "value " + v);
+        }
+    }
+}
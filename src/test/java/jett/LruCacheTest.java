@@ -0,0 +1,56 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+
+    @Test
+    public void put_pastCapacity_evictsLeastRecentlyUsedAndCounts() {
+        LruCache<Integer, String> cache = new LruCache<>(16); // 2 entries per segment
+        // small integers that are equal modulo 8 share a segment
+        cache.put(0, "zero");
+        cache.put(8, "eight");
+        assertEquals("zero", cache.get(0)); // 0 is now more recent than 8
+        cache.put(16, "sixteen");
+
+        assertNull(cache.get(8));
+        assertEquals("zero", cache.get(0));
+        assertEquals("sixteen", cache.get(16));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void getAndPut_fromManyThreads_staysBounded() throws Exception {
+        LruCache<Integer, Integer> cache = new LruCache<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    int key = i % 100;
+                    Integer value = cache.get(key);
+                    if (value == null) {
+                        cache.put(key, key);
+                    } else {
+                        assertEquals(key, value.intValue());
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.size() <= 64);
+    }
+}
@@ -0,0 +1,65 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedLoaderTest {
+    @TempDir
+    Path tmp;
+
+    private static List<String> load(Path file, long minChunkBytes) throws Exception {
+        ArrayList<Task> tasks = new ArrayList<>();
+        MappedLoader.load(file, tasks, minChunkBytes);
+        List<String> lines = new ArrayList<>();
+        for (Task t : tasks) {
+            lines.add(t.toString());
+        }
+        return lines;
+    }
+
+    @Test
+    public void load_parallelChunks_matchSequentialOrderAndSkipping() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            switch (i % 5) {
+            case 0 -> lines.add("[T][X] todo " + i);
+            case 1 -> lines.add("[D][ ] deadline " + i + " (by: Sep " + (i % 28 + 1) + " 2025)");
+            case 2 -> lines.add("[E][ ] event " + i + " (from: 2025-10-01 to: 2025-10-0" + (i % 9 + 1) + ")");
+            case 3 -> lines.add("not a task " + i); // skipped
+            default -> lines.add("");
+            }
+        }
+        Path data = tmp.resolve("Jett.txt");
+        Files.writeString(data, String.join("\r\n", lines));
+
+        List<String> sequential = load(data, Long.MAX_VALUE);
+        assertEquals(1200, sequential.size());
+        assertEquals(sequential, load(data, 1));
+        assertEquals(sequential, load(data, 1000));
+    }
+
+    @Test
+    public void load_failingLine_keepsEverythingBeforeIt() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add(i == 300 ? "[T][ ]" : "[T][ ] todo " + i); // blank todo description throws
+        }
+        Path data = tmp.resolve("Jett.txt");
+        Files.write(data, lines);
+
+        for (long minChunkBytes : new long[] {Long.MAX_VALUE, 1, 100}) {
+            ArrayList<Task> tasks = new ArrayList<>();
+            assertThrows(IllegalArgumentException.class, () -> MappedLoader.load(data, tasks, minChunkBytes));
+            assertEquals(300, tasks.size());
+            assertEquals("[T][ ] todo 299", tasks.get(299).toString());
+        }
+    }
+}
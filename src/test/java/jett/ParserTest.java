@@ -3,6 +3,8 @@ package jett;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -90,4 +92,78 @@ class ParserTest {
         JettException ex = assertThrows(JettException.class, () -> Parser.respondToUser("delete 9", list));
         assertEquals(true, ex.getMessage().startsWith("I can't find task 9."));
     }
+
+    @Test
+    void list_page_showsOnlyRequestedWindowWithListNumbers() throws Exception {
+        for (int i = 1; i <= 7; i++) {
+            Parser.respondToUser("todo task " + i, list);
+        }
+        assertEquals("Here are the tasks in your list (page 2 of 3):\n4. [T][ ] task 4\n5. [T][ ] task 5\n"
+                + "6. [T][ ] task 6", Parser.respondToUser("list --page 2 --size 3", list));
+        assertEquals("Here are the tasks in your list (page 3 of 3):\n7. [T][ ] task 7",
+                Parser.respondToUser("list --size 3   --page 3", list));
+        assertEquals("Here are your tasks in alphabetical order (page 1 of 4):\n- [T][ ] task 1\n- [T][ ] task 2",
+                Parser.respondToUser("list /alphabetical --size 2", list));
+
+        JettException past = assertThrows(JettException.class,
+                () -> Parser.respondToUser("list --page 4 --size 3", list));
+        assertEquals("There are only 3 pages of 3 tasks.", past.getMessage());
+        assertThrows(JettException.class, () -> Parser.respondToUser("list --page 0", list));
+        assertThrows(JettException.class, () -> Parser.respondToUser("list --page", list));
+        assertThrows(JettException.class, () -> Parser.respondToUser("list /date /type", list));
+    }
+
+    @Test
+    void lexer_mixedCaseAndWhitespace_parsedLikeBefore() throws Exception {
+        assertEquals(Parser.Command.DEADLINE, Parser.Command.from("  DeadLine\tx"));
+        assertEquals(Parser.Command.INVALID, Parser.Command.from("todox"));
+        assertEquals(Parser.Command.INVALID, Parser.Command.from("   "));
+
+        Parser.respondToUser("deadline pay /byx /by\t Sep 6 2025", list);
+        Parser.respondToUser("event trip /from\t2025-09-06 /to\n2025-09-07", list);
+        assertEquals("1. [D][ ] pay /byx (by: Sep 6 2025)", list.listString().split("\n")[1]);
+        assertEquals("2. [E][ ] trip (from: Sep 6 2025 to: Sep 7 2025)", list.listString().split("\n")[2]);
+
+        JettException noBy = assertThrows(JettException.class,
+                () -> Parser.respondToUser("deadline pay /bySep 6 2025", list));
+        assertEquals("Missing '/by'. (e.g. deadline complete report /by Sep 6 2025)", noBy.getMessage());
+        JettException badNumber = assertThrows(JettException.class, () -> Parser.respondToUser("mark 00", list));
+        assertEquals("Key in a valid task number (e.g. mark 2)", badNumber.getMessage());
+        JettException noNumber = assertThrows(JettException.class, () -> Parser.respondToUser("unmark", list));
+        assertEquals("Specify a task number (e.g. unmark 2)", noNumber.getMessage());
+        assertThrows(NumberFormatException.class, () -> Parser.respondToUser("delete 99999999999", list));
+    }
+
+    @Test
+    void rangesAndAll_changeManyTasksInOneCommand() throws Exception {
+        for (int i = 1; i <= 8; i++) {
+            Parser.respondToUser("todo task " + i, list);
+        }
+        assertEquals("Here are your tasks in alphabetical order:\n- [T][ ] task 1\n- [T][ ] task 2\n- [T][ ] task 3\n"
+                + "- [T][ ] task 4\n- [T][ ] task 5\n- [T][ ] task 6\n- [T][ ] task 7\n- [T][ ] task 8",
+                Parser.respondToUser("list /alphabetical", list));
+        list.drainChanges();
+
+        assertEquals("Marked 4 tasks. Clean finish:\n[T][X] task 2\n[T][X] task 3\n[T][X] task 7\n[T][X] task 8",
+                Parser.respondToUser("mark 2-3,7-", list));
+        assertEquals(4, list.drainChanges().size());
+        assertEquals("Deleted 4 tasks — gone faster than a Sage wall:\n[T][X] task 2\n[T][X] task 3\n"
+                + "[T][X] task 7\n[T][X] task 8\nNow you have 4 tasks in the list.",
+                Parser.respondToUser("delete /done", list));
+        assertEquals(List.of(7, 6, 2, 1), list.drainChanges().stream().map(TaskList.Change::index).toList());
+
+        assertEquals("Here are your tasks in alphabetical order:\n- [T][ ] task 1\n- [T][ ] task 4\n- [T][ ] task 5\n"
+                + "- [T][ ] task 6", Parser.respondToUser("list /alphabetical", list));
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] task 1\n", list.findString("task 1"));
+        assertEquals("Marked 4 tasks. Clean finish:\n[T][X] task 1\n[T][X] task 4\n[T][X] task 5\n[T][X] task 6",
+                Parser.respondToUser("MARK ALL", list));
+
+        JettException missing = assertThrows(JettException.class, () -> Parser.respondToUser("unmark 2-9", list));
+        assertEquals("I can't find task 9. Use 'list' to see valid task numbers.", missing.getMessage());
+        JettException reversed = assertThrows(JettException.class, () -> Parser.respondToUser("delete 3-1", list));
+        assertEquals("Key in valid task numbers or ranges (e.g. delete 3-5,8 or delete all)", reversed.getMessage());
+        JettException none = assertThrows(JettException.class,
+                () -> Parser.respondToUser("delete /done", new TaskList()));
+        assertEquals("No tasks match '/done'.", none.getMessage());
+    }
 }
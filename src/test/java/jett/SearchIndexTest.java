@@ -0,0 +1,83 @@
+package jett;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SearchIndexTest {
+
+    private static final String[] WORDS = {"read", "book", "Bookshelf", "return", "CS2103", "quiz", "a", "b-day",
+        "(draft)", "café", "Réunion", "x"};
+
+    private static List<Task> scan(List<Task> tasks, String keyword) {
+        List<Task> matches = new ArrayList<>();
+        for (Task t : tasks) {
+            if (t.getDescription().toLowerCase(Locale.ROOT).contains(keyword)) {
+                matches.add(t);
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    public void find_randomAddsAndRemoves_matchesFullScan() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        SearchIndex index = new SearchIndex(tasks);
+        List<String> queries = List.of("a", "b", "x", "ok", "bo", "book", "k b", "-d", "(dr", "é", "café",
+                "réu", "cs2", "2103", "zzz", "read book", " ");
+        for (int step = 0; step < 2000; step++) {
+            if (tasks.isEmpty() || random.nextInt(3) > 0) {
+                StringBuilder desc = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+                for (int w = random.nextInt(4); w > 0; w--) {
+                    desc.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                Task t = new Todo(desc.toString());
+                tasks.add(t);
+                index.add(t);
+            } else if (random.nextInt(10) > 0) {
+                int i = random.nextInt(tasks.size());
+                tasks.remove(i);
+                index.remove(i);
+            } else {
+                BitSet removed = new BitSet();
+                for (int i = 0; i < tasks.size(); i++) {
+                    removed.set(i, random.nextInt(4) == 0);
+                }
+                for (int i = tasks.size() - 1; i >= 0; i--) {
+                    if (removed.get(i)) {
+                        tasks.remove(i);
+                    }
+                }
+                index.removeAll(removed);
+            }
+            if (step % 50 == 0) {
+                for (String q : queries) {
+                    assertEquals(scan(tasks, q), index.find(q), q);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findString_afterRemove_numbersRemainingMatches() {
+        TaskList list = new TaskList();
+        list.add(new Todo("read book"));
+        list.add(new Todo("return book"));
+        list.add(new Deadline("book flight", "2025-09-30"));
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] read book\n2. [T][ ] return book\n"
+                + "3. [D][ ] book flight (by: Sep 30 2025)\n", list.findString("BOOK"));
+
+        list.remove(1);
+        list.add(new Todo("bookmark"));
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] read book\n"
+                + "2. [D][ ] book flight (by: Sep 30 2025)\n3. [T][ ] bookmark\n", list.findString("book"));
+        assertEquals("No matching tasks found.", list.findString("return"));
+    }
+}
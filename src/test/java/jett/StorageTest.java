@@ -1,12 +1,21 @@
 package jett;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -126,4 +135,414 @@ public class StorageTest {
         assertEquals(LocalDate.of(2025, 9, 13), ((Event) c).getFrom());
         assertEquals(LocalDate.of(2025, 9, 14), ((Event) c).getTo());
     }
+
+    @Test
+    public void journal_replaysChangesOnTopOfSnapshot() throws Exception {
+        String data = tmp.resolve("Jett.txt").toString();
+        Storage storage = new Storage(data, Storage.Mode.JOURNAL);
+
+        TaskList list = new TaskList(storage.getData());
+        Parser.respondToUser("todo read book", list);
+        Parser.respondToUser("deadline submit report /by 2025-09-06", list);
+        storage.saveNow(list);
+        Parser.respondToUser("todo buy milk", list);
+        Parser.respondToUser("mark 3", list);
+        Parser.respondToUser("delete 1", list);
+        storage.saveNow(list);
+
+        // Only the journal was written; the snapshot was never rewritten
+        assertFalse(Files.exists(Path.of(data)));
+        assertEquals(5, Files.readAllLines(Path.of(data + ".journal")).size());
+
+        TaskList loaded = new TaskList(new Storage(data, Storage.Mode.JOURNAL).getData());
+        assertEquals(2, loaded.size());
+        assertEquals("[D][ ] submit report (by: Sep 6 2025)", loaded.get(0).toString());
+        assertEquals("[T][X] buy milk", loaded.get(1).toString());
+    }
+
+    @Test
+    public void journal_compactsIntoSnapshotPastThreshold() throws Exception {
+        String data = tmp.resolve("Jett.txt").toString();
+        Storage storage = new Storage(data, Storage.Mode.JOURNAL);
+        storage.setCompactionThreshold(1);
+
+        TaskList list = new TaskList();
+        list.add(new Todo("read book"));
+        storage.saveNow(list);
+        storage.awaitCompaction();
+
+        assertEquals(List.of("[T][ ] read book"), Files.readAllLines(Path.of(data)));
+        assertFalse(Files.exists(Path.of(data + ".journal")));
+        assertFalse(Files.exists(Path.of(data + ".journal.old")));
+
+        list.mark(0);
+        storage.saveNow(list);
+        storage.awaitCompaction();
+        assertEquals(List.of("[T][X] read book"), Files.readAllLines(Path.of(data)));
+    }
+
+    @Test
+    public void journal_interruptedCompaction_recoversWithoutLossOrDuplicates() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Files.write(data, List.of("[T][ ] a"));
+        Files.write(tmp.resolve("Jett.txt.journal.old"), List.of("A [T][ ] b"));
+        Files.write(tmp.resolve("Jett.txt.compact"), List.of("[T][ ] a")); // partially written
+        Files.write(tmp.resolve("Jett.txt.journal"), List.of("M 1"));
+
+        TaskList loaded = new TaskList(new Storage(data.toString(), Storage.Mode.JOURNAL).getData());
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] a", loaded.get(0).toString());
+        assertEquals("[T][X] b", loaded.get(1).toString());
+        assertEquals(List.of("[T][ ] a", "[T][ ] b"), Files.readAllLines(data));
+        assertFalse(Files.exists(tmp.resolve("Jett.txt.compact")));
+        assertFalse(Files.exists(tmp.resolve("Jett.txt.journal.old")));
+    }
+
+    @Test
+    public void journal_tornLastRecord_ignoredAndCutOff() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Path journal = tmp.resolve("Jett.txt.journal");
+        List<String> tasks = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            tasks.add("[T][ ] task " + i);
+        }
+        Files.write(data, tasks);
+        Files.writeString(journal, "A [T][ ] read book\nM 1"); // "M 12" cut short by a crash
+
+        Storage storage = new Storage(data.toString(), Storage.Mode.JOURNAL);
+        TaskList loaded = new TaskList(storage.getData());
+        assertEquals(14, loaded.size());
+        assertEquals("[T][ ] task 1", loaded.get(1).toString());
+        assertEquals("[T][ ] read book", loaded.get(13).toString());
+
+        loaded.mark(12);
+        storage.saveNow(loaded);
+        assertEquals(List.of("A [T][ ] read book", "M 12"), Files.readAllLines(journal));
+
+        Files.writeString(journal, "A [T][ ] read bo", StandardOpenOption.APPEND);
+        TaskList reloaded = new TaskList(new Storage(data.toString(), Storage.Mode.JOURNAL).getData());
+        assertEquals(14, reloaded.size());
+        assertEquals("[T][X] task 12", reloaded.get(12).toString());
+    }
+
+    @Test
+    public void journal_failedAppend_nextSaveCompacts() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Path journal = tmp.resolve("Jett.txt.journal");
+        Files.write(data, List.of("[T][ ] a", "[T][ ] b", "[T][ ] c"));
+        Storage storage = new Storage(data.toString(), Storage.Mode.JOURNAL);
+        TaskList list = new TaskList(storage.getData());
+
+        list.remove(0);
+        Files.createDirectory(journal); // the append fails
+        storage.saveNow(list);
+        Files.delete(journal);
+
+        list.mark(0);
+        storage.saveNow(list);
+
+        assertEquals(List.of("[T][X] b", "[T][ ] c"), Files.readAllLines(data));
+        TaskList loaded = new TaskList(new Storage(data.toString(), Storage.Mode.JOURNAL).getData());
+        assertEquals(2, loaded.size());
+        assertEquals("[T][X] b", loaded.get(0).toString());
+        assertEquals("[T][ ] c", loaded.get(1).toString());
+    }
+
+    @Test
+    public void getData_mappedLoad_matchesParseLineOnEveryLine() throws Exception {
+        List<String> lines = List.of(
+                "[T][X] read book",
+                "",
+                "   [D][ ] fix (motor) (by: Sep 13 2025)   ",
+                "[E][ ] camp (from: Sep 13 2025 to: Sep 14 2025)",
+                "[T][é] café", // multi-byte status: parseLine treats it as not done
+                "[A][ ] test",
+                "[D][ ] test (by: 31/31/2025)",
+                "[T] test",
+                "[T][ ] naïve ünïcode");
+        Path data = tmp.resolve("Jett.txt");
+        Files.writeString(data, String.join("\r\n", lines));
+
+        List<String> expected = new ArrayList<>();
+        for (String line : lines) {
+            Task t = line.isBlank() ? null : Storage.parseLine(line.trim());
+            if (t != null) {
+                expected.add(t.toString());
+            }
+        }
+        List<String> actual = new ArrayList<>();
+        for (Task t : new Storage(data.toString()).getData()) {
+            actual.add(t.toString());
+        }
+        assertEquals(expected, actual);
+        assertEquals(5, actual.size());
+    }
+
+    @Test
+    public void binary_roundTrip_preservesTasks() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.BINARY);
+
+        TaskList list = new TaskList();
+        list.add(new Todo("read book"));
+        list.add(new Deadline("submit report", "2025-09-06"));
+        list.add(new Event("camp (night)", "Sep 13 2025", "Sep 14 2025"));
+        list.add(new Todo("café ünïcode"));
+        list.mark(2);
+        storage.saveNow(list);
+
+        assertTrue(BinaryFormat.isBinary(data));
+        ArrayList<Task> loaded = storage.getData();
+        assertEquals(4, loaded.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void binary_textFile_migratedOnLoad() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        List<String> lines = List.of("[T][X] read book", "[D][ ] submit report (by: Sep 6 2025)");
+        Files.write(data, lines);
+
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.BINARY).getData();
+        assertEquals(2, loaded.size());
+        assertTrue(BinaryFormat.isBinary(data));
+        assertEquals(lines, Files.readAllLines(tmp.resolve("Jett.txt.bak")));
+
+        ArrayList<Task> reloaded = new Storage(data.toString(), Storage.Mode.BINARY).getData();
+        assertEquals(lines.get(0), reloaded.get(0).toString());
+        assertEquals(lines.get(1), reloaded.get(1).toString());
+    }
+
+    @Test
+    public void binary_unreadableFile_failsLoadAndIsNeverSavedOver() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Files.createDirectory(data); // exists, but cannot be read as a file
+        Storage storage = new Storage(data.toString(), Storage.Mode.BINARY);
+
+        assertThrows(JettException.class, storage::getData);
+        TaskList list = new TaskList();
+        list.add(new Todo("lost"));
+        storage.saveNow(list);
+        assertTrue(Files.isDirectory(data));
+    }
+
+    @Test
+    public void binary_truncatedFile_keepsCompleteRecords() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.BINARY);
+        TaskList list = new TaskList();
+        list.add(new Todo("first"));
+        list.add(new Todo("second"));
+        storage.saveNow(list);
+
+        byte[] bytes = Files.readAllBytes(data);
+        Files.write(data, Arrays.copyOf(bytes, bytes.length - 3));
+        ArrayList<Task> loaded = storage.getData();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] first", loaded.get(0).toString());
+    }
+
+    @Test
+    public void saveNow_atomicWithFsync_replacesFileAndRecordsPhases() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Files.write(data, List.of("[T][ ] old"));
+        Files.write(tmp.resolve("Jett.txt.tmp"), List.of("[T][ ] half-written by a crash"));
+        Storage storage = new Storage(data.toString());
+        storage.setDurability(Storage.Durability.METADATA);
+
+        TaskList list = new TaskList(storage.getData());
+        list.add(new Todo("new"));
+        storage.saveNow(list);
+
+        assertEquals(List.of("[T][ ] old", "[T][ ] new"), Files.readAllLines(data));
+        assertFalse(Files.exists(tmp.resolve("Jett.txt.tmp")));
+        SaveMetrics metrics = storage.getMetrics();
+        for (SaveMetrics.Phase phase : SaveMetrics.Phase.values()) {
+            assertEquals(1, metrics.getCount(phase), phase.name());
+        }
+        assertTrue(metrics.summary().contains("fsync: n=1"));
+    }
+
+    @Test
+    public void incremental_changes_editFileInPlace() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList initial = new TaskList();
+        initial.add(new Todo("first"));
+        initial.add(new Deadline("second", "2025-09-30"));
+        initial.add(new Todo("third"));
+        storage.saveNow(initial);
+        byte[] before = Files.readAllBytes(data);
+
+        TaskList list = new TaskList(storage.getData());
+        list.mark(1);
+        list.remove(0);
+        list.add(new Todo("fourth"));
+        storage.saveNow(list);
+
+        byte[] after = Files.readAllBytes(data);
+        byte[] appended = BinaryFormat.encodeRecord(new Todo("fourth"));
+        assertEquals(before.length + appended.length, after.length);
+        int changedBytes = 0;
+        for (int i = 0; i < before.length; i++) {
+            changedBytes += before[i] == after[i] ? 0 : 1;
+        }
+        assertEquals(2, changedBytes); // one tombstone, one done flag
+
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(3, loaded.size());
+        assertEquals("[D][X] second (by: Sep 30 2025)", loaded.get(0).toString());
+        assertEquals("[T][ ] third", loaded.get(1).toString());
+        assertEquals("[T][ ] fourth", loaded.get(2).toString());
+    }
+
+    @Test
+    public void bulkDelete_journalAndIncremental_reloadMatchesList() throws Exception {
+        for (Storage.Mode mode : new Storage.Mode[] {Storage.Mode.JOURNAL, Storage.Mode.INCREMENTAL}) {
+            Path data = tmp.resolve(mode + ".txt");
+            Storage storage = new Storage(data.toString(), mode);
+            TaskList initial = new TaskList();
+            for (int i = 0; i < 10; i++) {
+                initial.add(new Todo("task " + i));
+            }
+            storage.saveNow(initial);
+
+            TaskList list = new TaskList(storage.getData());
+            BitSet selected = new BitSet();
+            selected.set(1, 4);
+            selected.set(8);
+            list.markAll(selected);
+            selected.set(0);
+            selected.clear(2);
+            list.removeAll(selected);
+            storage.saveNow(list);
+
+            ArrayList<Task> loaded = new Storage(data.toString(), mode).getData();
+            assertEquals(list.listString(), new TaskList(loaded).listString(), mode.toString());
+            assertEquals("[T][X] task 2", loaded.get(0).toString());
+        }
+    }
+
+    @Test
+    public void incremental_manyTombstones_fileRewritten() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList list = new TaskList(storage.getData());
+        int count = Storage.MIN_TOMBSTONES_TO_COMPACT * 2;
+        for (int i = 0; i < count; i++) {
+            list.add(new Todo("task " + i));
+        }
+        storage.saveNow(list);
+        long fullSize = Files.size(data);
+
+        for (int i = 0; i < Storage.MIN_TOMBSTONES_TO_COMPACT; i++) {
+            list.remove(0);
+        }
+        storage.saveNow(list);
+        assertEquals(fullSize, Files.size(data)); // tombstoned in place
+
+        list.remove(0);
+        storage.saveNow(list);
+        assertEquals(BinaryFormat.encode(list).length, Files.size(data)); // rewritten without tombstones
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(count - Storage.MIN_TOMBSTONES_TO_COMPACT - 1, loaded.size());
+        assertEquals("[T][ ] task " + (Storage.MIN_TOMBSTONES_TO_COMPACT + 1), loaded.get(0).toString());
+    }
+
+    @Test
+    public void incremental_otherList_writtenWhole() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList initial = new TaskList();
+        initial.add(new Todo("first"));
+        initial.add(new Todo("second"));
+        storage.saveNow(initial);
+        storage.getData();
+
+        // a different list without pending changes still replaces the file
+        ArrayList<Task> other = new ArrayList<>(List.of(new Todo("other")));
+        storage.saveNow(new TaskList(other));
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] other", loaded.get(0).toString());
+
+        // pending changes of a different list are not applied to the records of the saved one
+        TaskList another = new TaskList();
+        another.add(new Todo("a"));
+        another.add(new Todo("b"));
+        another.mark(1);
+        storage.saveNow(another);
+        loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] a", loaded.get(0).toString());
+        assertEquals("[T][X] b", loaded.get(1).toString());
+    }
+
+    @Test
+    public void incremental_tornAppend_truncatedBeforeNextAppend() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList list = new TaskList();
+        list.add(new Todo("first"));
+        list.add(new Todo("second"));
+        storage.saveNow(list);
+        byte[] bytes = Files.readAllBytes(data);
+        Files.write(data, Arrays.copyOf(bytes, bytes.length - 3));
+
+        Storage reopened = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList loaded = new TaskList(reopened.getData());
+        loaded.add(new Todo("third"));
+        reopened.saveNow(loaded);
+
+        ArrayList<Task> reloaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(2, reloaded.size());
+        assertEquals("[T][ ] first", reloaded.get(0).toString());
+        assertEquals("[T][ ] third", reloaded.get(1).toString());
+    }
+
+    @Test
+    public void incremental_damagedMiddleRecord_originalKeptBeforeCutting() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList list = new TaskList();
+        list.add(new Todo("first"));
+        list.add(new Todo("second"));
+        list.add(new Todo("third"));
+        storage.saveNow(list);
+        byte[] bytes = Files.readAllBytes(data);
+        bytes[BinaryFormat.HEADER_BYTES + BinaryFormat.encodeRecord(new Todo("first")).length] = 9; // bad kind
+        Files.write(data, bytes);
+
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(1, loaded.size());
+        assertArrayEquals(bytes, Files.readAllBytes(tmp.resolve("Jett.txt.bak")));
+    }
+
+    @Test
+    public void incremental_failedRewrite_nextSaveRewritesWhole() throws Exception {
+        Path data = tmp.resolve("Jett.txt");
+        Storage storage = new Storage(data.toString(), Storage.Mode.INCREMENTAL);
+        TaskList list = new TaskList(storage.getData());
+        int count = Storage.MIN_TOMBSTONES_TO_COMPACT * 2;
+        for (int i = 0; i < count; i++) {
+            list.add(new Todo("task " + i));
+        }
+        storage.saveNow(list);
+        for (int i = 0; i <= Storage.MIN_TOMBSTONES_TO_COMPACT; i++) {
+            list.remove(0);
+        }
+        Path tmpFile = tmp.resolve("Jett.txt.tmp");
+        Files.createDirectory(tmpFile); // the rewrite fails
+        storage.saveNow(list);
+        Files.delete(tmpFile);
+
+        list.mark(0);
+        storage.saveNow(list);
+
+        ArrayList<Task> loaded = new Storage(data.toString(), Storage.Mode.INCREMENTAL).getData();
+        assertEquals(list.size(), loaded.size());
+        assertEquals("[T][X] task " + (Storage.MIN_TOMBSTONES_TO_COMPACT + 1), loaded.get(0).toString());
+    }
 }
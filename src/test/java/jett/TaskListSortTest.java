@@ -2,7 +2,9 @@ package jett;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
@@ -54,4 +56,43 @@ public class TaskListSortTest {
         assertEquals("- [D][ ] submit report (by: Sep 12 2025)", lines.get(2));
         assertEquals("- [E][ ] camp (from: Sep 13 2025 to: Sep 14 2025)", lines.get(3));
     }
+
+    @Test
+    public void listSortedByDate_afterChanges_matchesFreshSort() {
+        TaskList list = new TaskList();
+        list.add(new Deadline("same", "2025-09-14"));
+        list.add(new Todo("read book"));
+        list.add(new Deadline("same", "2025-09-14"));
+        assertEquals(list.sortedList(TaskListSortTest::byDate, "Here are your tasks in date order:"),
+                list.listSortedByDate());
+
+        list.mark(2);
+        list.remove(0);
+        list.add(new Event("camp", "2025-09-01", "2025-09-02"));
+        list.add(new Todo("Apple"));
+        String sorted = list.listSortedByDate();
+        assertEquals(list.sortedList(TaskListSortTest::byDate, "Here are your tasks in date order:"), sorted);
+        assertEquals("Here are your tasks in date order:\n- [T][ ] Apple\n- [T][ ] read book\n"
+                + "- [E][ ] camp (from: Sep 1 2025 to: Sep 2 2025)\n- [D][X] same (by: Sep 14 2025)", sorted);
+
+        list.remove(0);
+        list.remove(0);
+        list.remove(0);
+        list.remove(0);
+        assertEquals("Your list is empty.", list.listSortedByDate());
+    }
+
+    private static int byDate(Task a, Task b) {
+        int kind = Integer.compare(a.kind() == Task.TaskKind.TODO ? 0 : 1, b.kind() == Task.TaskKind.TODO ? 0 : 1);
+        if (kind != 0) {
+            return kind;
+        }
+        int date = a.sortDate().orElse(LocalDate.MAX).compareTo(b.sortDate().orElse(LocalDate.MAX));
+        if (date != 0) {
+            return date;
+        }
+        int ordinal = Integer.compare(a.kind().ordinal(), b.kind().ordinal());
+        return ordinal != 0 ? ordinal
+                : a.getDescription().toLowerCase(Locale.ROOT).compareTo(b.getDescription().toLowerCase(Locale.ROOT));
+    }
 }
@@ -6,8 +6,15 @@ if not exist ..\bin mkdir ..\bin
 REM delete output from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM start from an empty data file
+if exist ..\bin\text-ui-test rmdir /s /q ..\bin\text-ui-test
+
+REM compile the code into the bin folder, leaving out the JavaFX classes
+if exist sources.txt del sources.txt
+for %%f in (..\src\main\java\jett\*.java) do (
+    findstr /c:"import javafx" "%%f" >nul || echo %%f>> sources.txt
+)
+javac -encoding UTF-8 -Xlint:none -d ..\bin @sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
@@ -15,7 +22,7 @@ IF ERRORLEVEL 1 (
 REM no error here, errorlevel == 0
 
 REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Jett < input.txt > ACTUAL.TXT
+java -classpath ..\bin jett.Jett --data ..\bin\text-ui-test\Jett.txt < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
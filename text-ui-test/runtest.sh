@@ -12,19 +12,23 @@ then
     rm ACTUAL.TXT
 fi
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# start from an empty data file
+rm -rf ../bin/text-ui-test
+
+# compile the code into the bin folder, leaving out the JavaFX classes, terminates if error occurred
+if ! javac -encoding UTF-8 -Xlint:none -d ../bin $(grep -L "import javafx" ../src/main/java/jett/*.java)
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Jett < input.txt > ACTUAL.TXT
+java -classpath ../bin jett.Jett --data ../bin/text-ui-test/Jett.txt < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
-cp EXPECTED.TXT EXPECTED-UNIX.TXT
-dos2unix ACTUAL.TXT EXPECTED-UNIX.TXT
+tr -d '\r' < EXPECTED.TXT > EXPECTED-UNIX.TXT
+tr -d '\r' < ACTUAL.TXT > ACTUAL-UNIX.TXT
+mv ACTUAL-UNIX.TXT ACTUAL.TXT
 
 # compare the output to the expected output
 diff ACTUAL.TXT EXPECTED-UNIX.TXT